@@ -2,20 +2,33 @@ package de.syscall;
 
 import de.syscall.api.VecturAPI;
 import de.syscall.command.ShopCommand;
+import de.syscall.listener.PlayerConnectionListener;
 import de.syscall.listener.PlayerMoveListener;
+import de.syscall.listener.ShopChunkListener;
 import de.syscall.listener.ShopClickListener;
 import de.syscall.listener.ShopInventoryListener;
 import de.syscall.listener.ShopProtectionListener;
 import de.syscall.manager.HologramManager;
+import de.syscall.manager.NotificationManager;
 import de.syscall.manager.ShopManager;
+import de.syscall.service.ShopService;
+import de.syscall.service.SnapshotShopService;
+import de.syscall.storage.TradeLedger;
+import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.File;
+import java.io.IOException;
+
 public class SlownFinance extends JavaPlugin {
 
     private static SlownFinance instance;
     private VecturAPI vecturAPI;
     private ShopManager shopManager;
     private HologramManager hologramManager;
+    private NotificationManager notificationManager;
+    private TradeLedger tradeLedger;
+    private SnapshotShopService shopService;
 
     @Override
     public void onEnable() {
@@ -30,7 +43,17 @@ public class SlownFinance extends JavaPlugin {
         saveDefaultConfig();
 
         this.hologramManager = new HologramManager(this);
-        this.shopManager = new ShopManager(this);
+        try {
+            this.shopManager = new ShopManager(this);
+        } catch (IllegalStateException e) {
+            getLogger().severe(e.getMessage() + " - Shop-Daten werden nicht überschrieben, Plugin wird deaktiviert!");
+            getServer().getPluginManager().disablePlugin(this);
+            return;
+        }
+        this.notificationManager = new NotificationManager(this);
+        this.tradeLedger = openTradeLedger();
+        this.shopService = new SnapshotShopService(this);
+        getServer().getServicesManager().register(ShopService.class, shopService, this, ServicePriority.Normal);
 
         registerListeners();
         registerCommands();
@@ -40,6 +63,23 @@ public class SlownFinance extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        if (shopService != null) {
+            getServer().getServicesManager().unregisterAll(this);
+            shopService.shutdown();
+        }
+
+        if (notificationManager != null) {
+            notificationManager.shutdown();
+        }
+
+        if (tradeLedger != null) {
+            tradeLedger.close();
+        }
+
+        if (shopManager != null) {
+            shopManager.shutdown();
+        }
+
         if (hologramManager != null) {
             hologramManager.cleanup();
         }
@@ -56,10 +96,21 @@ public class SlownFinance extends JavaPlugin {
         }
     }
 
+    private TradeLedger openTradeLedger() {
+        try {
+            return new TradeLedger(this, new File(getDataFolder(), "ledger"));
+        } catch (IOException e) {
+            getLogger().severe("Could not open trade ledger: " + e.getMessage());
+            return null;
+        }
+    }
+
     private void registerListeners() {
         getServer().getPluginManager().registerEvents(new ShopClickListener(this), this);
         getServer().getPluginManager().registerEvents(new ShopInventoryListener(this), this);
         getServer().getPluginManager().registerEvents(new PlayerMoveListener(this), this);
+        getServer().getPluginManager().registerEvents(new PlayerConnectionListener(this), this);
+        getServer().getPluginManager().registerEvents(new ShopChunkListener(this), this);
         getServer().getPluginManager().registerEvents(new ShopProtectionListener(this), this);
     }
 
@@ -89,4 +140,16 @@ public class SlownFinance extends JavaPlugin {
     public HologramManager getHologramManager() {
         return hologramManager;
     }
+
+    public NotificationManager getNotificationManager() {
+        return notificationManager;
+    }
+
+    public TradeLedger getTradeLedger() {
+        return tradeLedger;
+    }
+
+    public SnapshotShopService getShopService() {
+        return shopService;
+    }
 }
\ No newline at end of file
@@ -2,7 +2,12 @@ package de.syscall.command;
 
 import de.syscall.SlownFinance;
 import de.syscall.data.Shop;
+import de.syscall.data.Trade;
+import de.syscall.manager.MarketStatistics;
+import de.syscall.storage.TradeLedger;
 import de.syscall.util.ColorUtil;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -11,15 +16,23 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 public class ShopCommand implements CommandExecutor, TabCompleter {
 
+    private static final int HISTORY_LIMIT = 10;
+    private static final DateTimeFormatter HISTORY_TIME_FORMAT = DateTimeFormatter.ofPattern("dd.MM. HH:mm")
+            .withZone(ZoneId.systemDefault());
+
     private final SlownFinance plugin;
-    private final List<String> subCommands = Arrays.asList("create", "delete", "list", "info", "toggle", "reload", "sell");
+    private final List<String> subCommands = Arrays.asList("create", "delete", "list", "info", "toggle", "reload", "sell", "bulk", "history", "market", "search");
 
     public ShopCommand(SlownFinance plugin) {
         this.plugin = plugin;
@@ -90,9 +103,10 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
                         return true;
                     }
 
-                    shop.setSellPrice(sellPrice);
-                    shop.setSellEnabled(true);
-                    plugin.getShopManager().updateShop(shop);
+                    if (plugin.getShopManager().setSellPrice(shop, sellPrice) == null) {
+                        player.sendMessage(ColorUtil.component("&cDieser Shop existiert nicht mehr!"));
+                        return true;
+                    }
 
                     player.sendMessage(ColorUtil.component("&aVerkaufspreis auf &6" + String.format("%.2f", sellPrice) + " Coins &agesetzt!"));
                 } catch (NumberFormatException e) {
@@ -115,7 +129,7 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
                     return true;
                 }
 
-                if (plugin.getShopManager().deleteShop(shop.getUniqueId())) {
+                if (plugin.getShopManager().deleteShop(shop.getKey())) {
                     player.sendMessage(ColorUtil.component("&aShop erfolgreich gelöscht!"));
                 } else {
                     player.sendMessage(ColorUtil.component("&cFehler beim Löschen des Shops!"));
@@ -173,13 +187,150 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
                     return true;
                 }
 
-                shop.setActive(!shop.isActive());
-                plugin.getShopManager().updateShop(shop);
-                String status = shop.isActive() ? "&aaktiviert" : "&cdeaktiviert";
+                Shop updated = plugin.getShopManager().toggleShop(shop);
+                if (updated == null) {
+                    player.sendMessage(ColorUtil.component("&cDieser Shop existiert nicht mehr!"));
+                    return true;
+                }
+
+                String status = updated.isActive() ? "&aaktiviert" : "&cdeaktiviert";
                 player.sendMessage(ColorUtil.component("&7Shop " + status + "&7!"));
                 return true;
             }
 
+            case "bulk" -> {
+                if (args.length < 3) {
+                    player.sendMessage(ColorUtil.component("&cVerwendung: /shop bulk <buy|sell> <anzahl>"));
+                    return true;
+                }
+
+                String mode = args[1].toLowerCase();
+                if (!mode.equals("buy") && !mode.equals("sell")) {
+                    player.sendMessage(ColorUtil.component("&cVerwendung: /shop bulk <buy|sell> <anzahl>"));
+                    return true;
+                }
+
+                int lots;
+                try {
+                    lots = Integer.parseInt(args[2]);
+                } catch (NumberFormatException e) {
+                    player.sendMessage(ColorUtil.component("&cUngültige Zahl für die Anzahl!"));
+                    return true;
+                }
+
+                int maxLots = plugin.getConfig().getInt("shop.bulk.max-lots", 64);
+                if (lots <= 0 || lots > maxLots) {
+                    player.sendMessage(ColorUtil.component("&cAnzahl muss zwischen 1 und " + maxLots + " liegen!"));
+                    return true;
+                }
+
+                Block targetBlock = player.getTargetBlockExact(5);
+                Shop shop = targetBlock == null ? null : plugin.getShopManager().getShopAt(targetBlock.getWorld(),
+                        targetBlock.getX(), targetBlock.getY(), targetBlock.getZ());
+
+                if (shop == null) {
+                    player.sendMessage(ColorUtil.component("&cDu musst auf eine Shop-Kiste schauen!"));
+                    return true;
+                }
+
+                if (shop.getOwner().equals(player.getUniqueId())) {
+                    player.sendMessage(ColorUtil.component("&cDu kannst nicht mit deinem eigenen Shop handeln!"));
+                    return true;
+                }
+
+                if (mode.equals("buy")) {
+                    plugin.getShopManager().buyFromShop(player, shop, lots);
+                } else {
+                    plugin.getShopManager().sellToShop(player, shop, lots);
+                }
+                return true;
+            }
+
+            case "history" -> {
+                TradeLedger ledger = plugin.getTradeLedger();
+                if (ledger == null) {
+                    player.sendMessage(ColorUtil.component("&cDer Handelsverlauf ist nicht verfügbar!"));
+                    return true;
+                }
+
+                String shopId = null;
+                UUID playerId = player.getUniqueId();
+                if (args.length >= 2) {
+                    Shop shop = findShopByName(player, args[1]);
+                    if (shop == null) {
+                        player.sendMessage(ColorUtil.component("&cShop nicht gefunden oder du bist nicht der Besitzer!"));
+                        return true;
+                    }
+                    shopId = shop.getUniqueId();
+                    playerId = null;
+                }
+
+                String queryShopId = shopId;
+                UUID queryPlayerId = playerId;
+                plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+                    List<Trade> trades = ledger.findRecent(queryPlayerId, queryShopId, HISTORY_LIMIT);
+                    plugin.getServer().getScheduler().runTask(plugin, () -> showHistory(player, trades));
+                });
+                return true;
+            }
+
+            case "market" -> {
+                if (args.length < 2) {
+                    player.sendMessage(ColorUtil.component("&cVerwendung: /shop market <material>"));
+                    return true;
+                }
+
+                Material material = Material.matchMaterial(args[1]);
+                if (material == null) {
+                    player.sendMessage(ColorUtil.component("&cUnbekanntes Material: &6" + args[1]));
+                    return true;
+                }
+
+                MarketStatistics.MarketSnapshot snapshot = plugin.getShopManager().getMarketStatistics().getSnapshot(material);
+                if (snapshot == null) {
+                    player.sendMessage(ColorUtil.component("&7Keine Handelsdaten für &6" + material.name() + "&7."));
+                    return true;
+                }
+
+                showMarket(player, snapshot);
+                return true;
+            }
+
+            case "search" -> {
+                if (args.length < 2) {
+                    player.sendMessage(ColorUtil.component("&cVerwendung: /shop search <material> [buy|sell]"));
+                    return true;
+                }
+
+                Material material = Material.matchMaterial(args[1]);
+                if (material == null) {
+                    player.sendMessage(ColorUtil.component("&cUnbekanntes Material: &6" + args[1]));
+                    return true;
+                }
+
+                boolean sell = args.length >= 3 && args[2].equalsIgnoreCase("sell");
+                int limit = plugin.getConfig().getInt("shop.search.results", 10);
+                List<Shop> results = sell
+                        ? plugin.getShopManager().getBestBuyers(material, limit)
+                        : plugin.getShopManager().getCheapestSellers(material, limit);
+
+                if (results.isEmpty()) {
+                    player.sendMessage(ColorUtil.component("&7Keine aktiven Shops für &6" + material.name() + "&7 gefunden."));
+                    return true;
+                }
+
+                player.sendMessage(ColorUtil.component(sell
+                        ? "&6&l◆ Ankauf: " + material.name() + " ◆"
+                        : "&6&l◆ Verkauf: " + material.name() + " ◆"));
+                for (Shop shop : results) {
+                    double price = sell ? shop.getSellPrice() : shop.getBuyPrice();
+                    player.sendMessage(ColorUtil.component("&6" + shop.getName() + " &7- &a" + String.format("%.2f", price) +
+                            " Coins &7für &6" + shop.getAmount() + "x &8(" + shop.getWorldName() + " " +
+                            shop.getBlockX() + ", " + shop.getBlockY() + ", " + shop.getBlockZ() + ")"));
+                }
+                return true;
+            }
+
             case "reload" -> {
                 if (!player.hasPermission("slownfinance.shop.admin")) {
                     player.sendMessage(ColorUtil.component("&cDu hast keine Berechtigung für diesen Command!"));
@@ -219,7 +370,8 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
         } else if (args.length == 2) {
             String subCommand = args[0].toLowerCase();
 
-            if (subCommand.equals("delete") || subCommand.equals("info") || subCommand.equals("toggle") || subCommand.equals("sell")) {
+            if (subCommand.equals("delete") || subCommand.equals("info") || subCommand.equals("toggle") || subCommand.equals("sell")
+                    || subCommand.equals("history")) {
                 String input = args[1].toLowerCase();
                 Collection<Shop> playerShops = plugin.getShopManager().getShopsByOwner(player.getUniqueId());
 
@@ -230,6 +382,21 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
                 }
             } else if (subCommand.equals("create")) {
                 completions.add("<name>");
+            } else if (subCommand.equals("market") || subCommand.equals("search")) {
+                String input = args[1].toUpperCase();
+                for (Material material : Material.values()) {
+                    if (material.isItem() && material.name().startsWith(input)) {
+                        completions.add(material.name().toLowerCase());
+                        if (completions.size() >= 50) break;
+                    }
+                }
+            } else if (subCommand.equals("bulk")) {
+                String input = args[1].toLowerCase();
+                for (String mode : Arrays.asList("buy", "sell")) {
+                    if (mode.startsWith(input)) {
+                        completions.add(mode);
+                    }
+                }
             }
         } else if (args.length == 3) {
             String subCommand = args[0].toLowerCase();
@@ -237,6 +404,15 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
                 completions.addAll(Arrays.asList("1", "16", "32", "64"));
             } else if (subCommand.equals("sell")) {
                 completions.addAll(Arrays.asList("5", "10", "25", "50"));
+            } else if (subCommand.equals("bulk")) {
+                completions.addAll(Arrays.asList("2", "8", "16", "64"));
+            } else if (subCommand.equals("search")) {
+                String input = args[2].toLowerCase();
+                for (String mode : Arrays.asList("buy", "sell")) {
+                    if (mode.startsWith(input)) {
+                        completions.add(mode);
+                    }
+                }
             }
         } else if (args.length == 4 && args[0].equalsIgnoreCase("create")) {
             completions.addAll(Arrays.asList("10", "50", "100", "500"));
@@ -246,10 +422,42 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
     }
 
     private Shop findShopByName(Player player, String name) {
-        return plugin.getShopManager().getShopsByOwner(player.getUniqueId()).stream()
-                .filter(shop -> shop.getName().equalsIgnoreCase(name))
-                .findFirst()
-                .orElse(null);
+        return plugin.getShopManager().getShopByName(player.getUniqueId(), name);
+    }
+
+    private void showMarket(Player player, MarketStatistics.MarketSnapshot snapshot) {
+        player.sendMessage(ColorUtil.component("&6&l◆ Markt: " + snapshot.material().name() + " ◆"));
+        player.sendMessage(ColorUtil.component("&7&m──────────────────────"));
+        player.sendMessage(ColorUtil.component("&aKäufe &7(1h): " + formatWindow(snapshot.buyHour())));
+        player.sendMessage(ColorUtil.component("&aKäufe &7(24h): " + formatWindow(snapshot.buyDay())));
+        player.sendMessage(ColorUtil.component("&cVerkäufe &7(1h): " + formatWindow(snapshot.sellHour())));
+        player.sendMessage(ColorUtil.component("&cVerkäufe &7(24h): " + formatWindow(snapshot.sellDay())));
+        player.sendMessage(ColorUtil.component("&7&m──────────────────────"));
+    }
+
+    private String formatWindow(MarketStatistics.Window window) {
+        if (window.trades() == 0) return "&8keine Daten";
+        return "&6" + window.volume() + " Items &7in &6" + window.trades() + " &7Trades, Ø &6" +
+                String.format("%.2f", window.vwap()) + " &7(&6" + String.format("%.2f", window.minPrice()) +
+                " &7- &6" + String.format("%.2f", window.maxPrice()) + "&7) pro Item";
+    }
+
+    private void showHistory(Player player, List<Trade> trades) {
+        if (!player.isOnline()) return;
+
+        if (trades.isEmpty()) {
+            player.sendMessage(ColorUtil.component("&7Keine Handelsdaten gefunden."));
+            return;
+        }
+
+        player.sendMessage(ColorUtil.component("&6&l◆ Handelsverlauf ◆"));
+        for (Trade trade : trades) {
+            String time = HISTORY_TIME_FORMAT.format(Instant.ofEpochMilli(trade.timestamp()));
+            String action = trade.type() == Trade.Type.BUY ? " &7kaufte &6" : " &7verkaufte &6";
+            player.sendMessage(ColorUtil.component("&8[" + time + "] &6" + trade.traderName() + action +
+                    trade.amount() + "x " + trade.material().name() + " &7bei &6" + trade.shopName() +
+                    " &7für &a" + String.format("%.2f", trade.price()) + " Coins"));
+        }
     }
 
     private void showShopInfo(Player player, Shop shop) {
@@ -279,6 +487,10 @@ public class ShopCommand implements CommandExecutor, TabCompleter {
         player.sendMessage(ColorUtil.component("&6/shop list &7- Alle deine Shops"));
         player.sendMessage(ColorUtil.component("&6/shop info <name> &7- Shop-Informationen"));
         player.sendMessage(ColorUtil.component("&6/shop toggle <name> &7- Shop aktivieren/deaktivieren"));
+        player.sendMessage(ColorUtil.component("&6/shop bulk <buy|sell> <anzahl> &7- Mehrfach kaufen/verkaufen"));
+        player.sendMessage(ColorUtil.component("&6/shop history [name] &7- Letzte Handel anzeigen"));
+        player.sendMessage(ColorUtil.component("&6/shop market <material> &7- Marktpreise anzeigen"));
+        player.sendMessage(ColorUtil.component("&6/shop search <material> [buy|sell] &7- Shops für ein Item finden"));
         if (player.hasPermission("slownfinance.shop.admin")) {
             player.sendMessage(ColorUtil.component("&6/shop reload &7- Konfiguration neu laden"));
         }
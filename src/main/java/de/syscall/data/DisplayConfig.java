@@ -0,0 +1,23 @@
+package de.syscall.data;
+
+import de.syscall.util.TextTemplate;
+import org.bukkit.configuration.file.FileConfiguration;
+
+public record DisplayConfig(TextTemplate buyTemplate, TextTemplate sellTemplate, TextTemplate ownerTemplate,
+                            String currency, String priceFormat) {
+
+    public static DisplayConfig load(FileConfiguration config) {
+        int decimalPlaces = Math.max(0, config.getInt("shop.display.decimal-places", 2));
+        return new DisplayConfig(
+                TextTemplate.compile(config.getString("shop.display.buy-format", "§aBuy: §6{amount}x §7für §a{price} Coins")),
+                TextTemplate.compile(config.getString("shop.display.sell-format", "§cSell: §6{amount}x §7für §c{price} Coins")),
+                TextTemplate.compile(config.getString("shop.display.owner-format", "§7Shop von §6{owner}")),
+                config.getString("shop.display.currency-symbol", "Coins"),
+                "%." + decimalPlaces + "f"
+        );
+    }
+
+    public String formatPrice(double price) {
+        return String.format(priceFormat, price);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package de.syscall.data;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+public final class ItemFingerprint {
+
+    private final Material material;
+    private final boolean hasMeta;
+    private final int maxStackSize;
+    private final ItemStack template;
+
+    public ItemFingerprint(ItemStack item) {
+        this.template = item.clone();
+        this.template.setAmount(1);
+        this.material = template.getType();
+        this.hasMeta = template.hasItemMeta();
+        this.maxStackSize = template.getMaxStackSize();
+    }
+
+    public boolean matches(ItemStack item) {
+        if (item == null || item.getType() != material) return false;
+        if (!hasMeta) return !item.hasItemMeta();
+        return item.hasItemMeta() && template.isSimilar(item);
+    }
+
+    public ItemStack createStack(int amount) {
+        ItemStack stack = template.clone();
+        stack.setAmount(amount);
+        return stack;
+    }
+
+    public Material getMaterial() {
+        return material;
+    }
+
+    public int getMaxStackSize() {
+        return maxStackSize;
+    }
+}
\ No newline at end of file
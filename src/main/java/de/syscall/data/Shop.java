@@ -2,32 +2,84 @@ package de.syscall.data;
 
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.UUID;
 
-public class Shop {
+public final class Shop {
 
+    private final ShopKey key;
     private final String name;
     private final UUID owner;
-    private final Location chestLocation;
+    private final World world;
+    private final int blockX;
+    private final int blockY;
+    private final int blockZ;
+    private final double hologramX;
+    private final double hologramY;
+    private final double hologramZ;
     private final ItemStack item;
+    private final ItemFingerprint fingerprint;
     private final int amount;
     private final double buyPrice;
-    private double sellPrice;
-    private boolean active;
-    private boolean sellEnabled;
+    private final double sellPrice;
+    private final boolean active;
+    private final boolean sellEnabled;
 
     public Shop(String name, UUID owner, Location chestLocation, ItemStack item, int amount, double buyPrice) {
+        this(name, owner, chestLocation, item, amount, buyPrice, 0.0, true, false);
+    }
+
+    public Shop(String name, UUID owner, Location chestLocation, ItemStack item, int amount, double buyPrice,
+                double sellPrice, boolean active, boolean sellEnabled) {
         this.name = name;
         this.owner = owner;
-        this.chestLocation = chestLocation.clone();
+        this.world = chestLocation.getWorld();
+        this.blockX = chestLocation.getBlockX();
+        this.blockY = chestLocation.getBlockY();
+        this.blockZ = chestLocation.getBlockZ();
+        this.hologramX = blockX + 0.5;
+        this.hologramY = blockY + 1.3;
+        this.hologramZ = blockZ + 0.5;
+        this.key = ShopKey.of(world.getName(), blockX, blockY, blockZ);
         this.item = item.clone();
+        this.fingerprint = new ItemFingerprint(item);
         this.amount = amount;
         this.buyPrice = buyPrice;
-        this.sellPrice = 0.0;
-        this.active = true;
-        this.sellEnabled = false;
+        this.sellPrice = sellPrice;
+        this.active = active;
+        this.sellEnabled = sellEnabled;
+    }
+
+    private Shop(Shop source, double sellPrice, boolean active, boolean sellEnabled) {
+        this.key = source.key;
+        this.name = source.name;
+        this.owner = source.owner;
+        this.world = source.world;
+        this.blockX = source.blockX;
+        this.blockY = source.blockY;
+        this.blockZ = source.blockZ;
+        this.hologramX = source.hologramX;
+        this.hologramY = source.hologramY;
+        this.hologramZ = source.hologramZ;
+        this.item = source.item;
+        this.fingerprint = source.fingerprint;
+        this.amount = source.amount;
+        this.buyPrice = source.buyPrice;
+        this.sellPrice = sellPrice;
+        this.active = active;
+        this.sellEnabled = sellEnabled;
+    }
+
+    public Shop withActive(boolean active) {
+        if (active == this.active) return this;
+        return new Shop(this, sellPrice, active, sellEnabled);
+    }
+
+    public Shop withSellPrice(double sellPrice) {
+        if (sellPrice == this.sellPrice && sellEnabled) return this;
+        return new Shop(this, sellPrice, active, true);
     }
 
     public String getName() {
@@ -38,18 +90,50 @@ public class Shop {
         return owner;
     }
 
-    public Location getChestLocation() {
-        return chestLocation.clone();
+    public World getWorld() {
+        return world;
     }
 
-    public Location getHologramLocation() {
-        return chestLocation.clone().add(0.5, 1.3, 0.5);
+    public String getWorldName() {
+        return world.getName();
+    }
+
+    public int getBlockX() {
+        return blockX;
+    }
+
+    public int getBlockY() {
+        return blockY;
+    }
+
+    public int getBlockZ() {
+        return blockZ;
+    }
+
+    public double getHologramX() {
+        return hologramX;
+    }
+
+    public double getHologramY() {
+        return hologramY;
+    }
+
+    public double getHologramZ() {
+        return hologramZ;
     }
 
     public ItemStack getItem() {
         return item.clone();
     }
 
+    public int getItemAmount() {
+        return item.getAmount();
+    }
+
+    public ItemFingerprint getFingerprint() {
+        return fingerprint;
+    }
+
     public Material getMaterial() {
         return item.getType();
     }
@@ -66,30 +150,19 @@ public class Shop {
         return sellPrice;
     }
 
-    public void setSellPrice(double sellPrice) {
-        this.sellPrice = sellPrice;
-    }
-
     public boolean isActive() {
         return active;
     }
 
-    public void setActive(boolean active) {
-        this.active = active;
-    }
-
     public boolean isSellEnabled() {
         return sellEnabled;
     }
 
-    public void setSellEnabled(boolean sellEnabled) {
-        this.sellEnabled = sellEnabled;
+    public ShopKey getKey() {
+        return key;
     }
 
     public String getUniqueId() {
-        return chestLocation.getWorld().getName() + "_" +
-                chestLocation.getBlockX() + "_" +
-                chestLocation.getBlockY() + "_" +
-                chestLocation.getBlockZ();
+        return key.toString();
     }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package de.syscall.data;
+
+import de.syscall.util.BlockKey;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public final class ShopKey implements Comparable<ShopKey> {
+
+    private static final Map<String, Integer> WORLD_INDEXES = new ConcurrentHashMap<>();
+    private static final List<String> WORLD_NAMES = new CopyOnWriteArrayList<>();
+
+    private final int world;
+    private final long position;
+
+    private ShopKey(int world, long position) {
+        this.world = world;
+        this.position = position;
+    }
+
+    public static ShopKey of(String worldName, int x, int y, int z) {
+        return new ShopKey(worldIndex(worldName), BlockKey.pack(x, y, z));
+    }
+
+    private static int worldIndex(String worldName) {
+        Integer index = WORLD_INDEXES.get(worldName);
+        if (index != null) return index;
+
+        synchronized (WORLD_NAMES) {
+            return WORLD_INDEXES.computeIfAbsent(worldName, k -> {
+                WORLD_NAMES.add(k);
+                return WORLD_NAMES.size() - 1;
+            });
+        }
+    }
+
+    public String getWorldName() {
+        return WORLD_NAMES.get(world);
+    }
+
+    public int getX() {
+        return BlockKey.unpackX(position);
+    }
+
+    public int getY() {
+        return BlockKey.unpackY(position);
+    }
+
+    public int getZ() {
+        return BlockKey.unpackZ(position);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof ShopKey key)) return false;
+        return position == key.position && world == key.world;
+    }
+
+    @Override
+    public int hashCode() {
+        long hash = position * 0x9E3779B97F4A7C15L + world;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    @Override
+    public int compareTo(ShopKey other) {
+        int result = Integer.compare(world, other.world);
+        return result != 0 ? result : Long.compare(position, other.position);
+    }
+
+    @Override
+    public String toString() {
+        return getWorldName() + "_" + getX() + "_" + getY() + "_" + getZ();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package de.syscall.data;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.UUID;
+
+public record ShopRecord(String name, UUID owner, String world, int x, int y, int z, Material material,
+                         int itemAmount, int amount, double buyPrice, double sellPrice,
+                         boolean active, boolean sellEnabled) {
+
+    public static ShopRecord of(Shop shop) {
+        return new ShopRecord(shop.getName(), shop.getOwner(), shop.getWorldName(),
+                shop.getBlockX(), shop.getBlockY(), shop.getBlockZ(),
+                shop.getMaterial(), shop.getItemAmount(), shop.getAmount(), shop.getBuyPrice(), shop.getSellPrice(),
+                shop.isActive(), shop.isSellEnabled());
+    }
+
+    public ShopKey key() {
+        return ShopKey.of(world, x, y, z);
+    }
+
+    public Shop toShop(World world) {
+        Location location = new Location(world, x, y, z);
+        return new Shop(name, owner, location, new ItemStack(material, itemAmount), amount, buyPrice,
+                sellPrice, active, sellEnabled);
+    }
+}
\ No newline at end of file
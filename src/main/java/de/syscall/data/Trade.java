@@ -0,0 +1,20 @@
+package de.syscall.data;
+
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+
+import java.util.UUID;
+
+public record Trade(Type type, String shopId, String shopName, UUID owner, UUID trader, String traderName,
+                    Material material, int amount, double price, long timestamp) {
+
+    public static Trade of(Type type, Shop shop, Player trader, int amount, double price) {
+        return new Trade(type, shop.getUniqueId(), shop.getName(), shop.getOwner(), trader.getUniqueId(), trader.getName(),
+                shop.getMaterial(), amount, price, System.currentTimeMillis());
+    }
+
+    public enum Type {
+        BUY,
+        SELL
+    }
+}
\ No newline at end of file
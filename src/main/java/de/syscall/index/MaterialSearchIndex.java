@@ -0,0 +1,94 @@
+package de.syscall.index;
+
+import de.syscall.data.Shop;
+import de.syscall.data.ShopKey;
+import org.bukkit.Material;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+public class MaterialSearchIndex {
+
+    private static final Comparator<Entry> CHEAPEST_FIRST = Comparator.comparingDouble(Entry::unitPrice)
+            .thenComparing(Entry::shopId);
+    private static final Comparator<Entry> HIGHEST_FIRST = Comparator.comparingDouble(Entry::unitPrice).reversed()
+            .thenComparing(Entry::shopId);
+
+    private final Map<Material, TreeSet<Entry>> sellers;
+    private final Map<Material, TreeSet<Entry>> buyers;
+    private final Map<ShopKey, Entry> sellerEntries;
+    private final Map<ShopKey, Entry> buyerEntries;
+
+    public MaterialSearchIndex() {
+        this.sellers = new EnumMap<>(Material.class);
+        this.buyers = new EnumMap<>(Material.class);
+        this.sellerEntries = new HashMap<>();
+        this.buyerEntries = new HashMap<>();
+    }
+
+    public void add(Shop shop) {
+        ShopKey shopId = shop.getKey();
+        remove(shopId);
+        if (!shop.isActive()) return;
+
+        Material material = shop.getMaterial();
+        Entry seller = new Entry(shop.getBuyPrice() / shop.getAmount(), shopId, material, shop);
+        sellers.computeIfAbsent(material, k -> new TreeSet<>(CHEAPEST_FIRST)).add(seller);
+        sellerEntries.put(shopId, seller);
+
+        if (shop.isSellEnabled()) {
+            Entry buyer = new Entry(shop.getSellPrice() / shop.getAmount(), shopId, material, shop);
+            buyers.computeIfAbsent(material, k -> new TreeSet<>(HIGHEST_FIRST)).add(buyer);
+            buyerEntries.put(shopId, buyer);
+        }
+    }
+
+    public void remove(Shop shop) {
+        remove(shop.getKey());
+    }
+
+    private void remove(ShopKey shopId) {
+        removeEntry(sellers, sellerEntries.remove(shopId));
+        removeEntry(buyers, buyerEntries.remove(shopId));
+    }
+
+    private void removeEntry(Map<Material, TreeSet<Entry>> orders, Entry entry) {
+        if (entry == null) return;
+
+        TreeSet<Entry> entries = orders.get(entry.material());
+        if (entries == null) return;
+
+        entries.remove(entry);
+        if (entries.isEmpty()) {
+            orders.remove(entry.material());
+        }
+    }
+
+    public List<Shop> getCheapestSellers(Material material, int limit) {
+        return first(sellers.get(material), limit);
+    }
+
+    public List<Shop> getBestBuyers(Material material, int limit) {
+        return first(buyers.get(material), limit);
+    }
+
+    private List<Shop> first(TreeSet<Entry> entries, int limit) {
+        if (entries == null || limit <= 0) return Collections.emptyList();
+
+        List<Shop> result = new ArrayList<>(Math.min(limit, entries.size()));
+        for (Entry entry : entries) {
+            result.add(entry.shop());
+            if (result.size() >= limit) break;
+        }
+        return result;
+    }
+
+    private record Entry(double unitPrice, ShopKey shopId, Material material, Shop shop) {
+    }
+}
\ No newline at end of file
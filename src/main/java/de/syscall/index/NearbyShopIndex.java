@@ -0,0 +1,147 @@
+package de.syscall.index;
+
+import de.syscall.data.Shop;
+import de.syscall.data.ShopKey;
+import de.syscall.util.BlockKey;
+import de.syscall.util.LongObjectMap;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+public class NearbyShopIndex {
+
+    private static final int CELL_SHIFT = 7;
+    private static final int CELL_SIZE = 1 << CELL_SHIFT;
+
+    private final Map<String, WorldGrid> worlds;
+
+    public NearbyShopIndex() {
+        this.worlds = new HashMap<>();
+    }
+
+    public void add(Shop shop) {
+        remove(shop);
+
+        WorldGrid grid = worlds.computeIfAbsent(shop.getWorldName(), k -> new WorldGrid());
+        long cellKey = cellOf(shop.getBlockX(), shop.getBlockZ());
+        List<Shop> cell = grid.cells.get(cellKey);
+        if (cell == null) {
+            cell = new ArrayList<>(4);
+            grid.cells.put(cellKey, cell);
+            grid.minCellX = Math.min(grid.minCellX, shop.getBlockX() >> CELL_SHIFT);
+            grid.maxCellX = Math.max(grid.maxCellX, shop.getBlockX() >> CELL_SHIFT);
+            grid.minCellZ = Math.min(grid.minCellZ, shop.getBlockZ() >> CELL_SHIFT);
+            grid.maxCellZ = Math.max(grid.maxCellZ, shop.getBlockZ() >> CELL_SHIFT);
+        }
+        cell.add(shop);
+        grid.size++;
+    }
+
+    public void remove(Shop shop) {
+        WorldGrid grid = worlds.get(shop.getWorldName());
+        if (grid == null) return;
+
+        long cellKey = cellOf(shop.getBlockX(), shop.getBlockZ());
+        List<Shop> cell = grid.cells.get(cellKey);
+        if (cell == null) return;
+
+        ShopKey shopId = shop.getKey();
+        if (cell.removeIf(indexed -> indexed.getKey().equals(shopId))) {
+            grid.size--;
+        }
+        if (cell.isEmpty()) {
+            grid.cells.remove(cellKey);
+        }
+    }
+
+    public List<Shop> findNearest(Location location, int limit, double maxDistance, Predicate<Shop> filter) {
+        World world = location.getWorld();
+        if (world == null || limit <= 0) return Collections.emptyList();
+
+        WorldGrid grid = worlds.get(world.getName());
+        if (grid == null || grid.size == 0) return Collections.emptyList();
+
+        double x = location.getX();
+        double y = location.getY();
+        double z = location.getZ();
+        int centerX = location.getBlockX() >> CELL_SHIFT;
+        int centerZ = location.getBlockZ() >> CELL_SHIFT;
+        double maxDistanceSquared = maxDistance * maxDistance;
+
+        int maxRing = Math.max(Math.max(centerX - grid.minCellX, grid.maxCellX - centerX),
+                Math.max(centerZ - grid.minCellZ, grid.maxCellZ - centerZ));
+        if (maxDistance < Double.MAX_VALUE) {
+            maxRing = (int) Math.min(maxRing, Math.ceil(maxDistance / CELL_SIZE) + 1);
+        }
+
+        PriorityQueue<Candidate> nearest = new PriorityQueue<>(limit + 1,
+                (first, second) -> Double.compare(second.distanceSquared(), first.distanceSquared()));
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            double ringDistance = Math.max(0, ring - 1) * (double) CELL_SIZE;
+            double ringDistanceSquared = ringDistance * ringDistance;
+            if (ringDistanceSquared > maxDistanceSquared) break;
+            if (nearest.size() >= limit && nearest.peek().distanceSquared() <= ringDistanceSquared) break;
+
+            for (int cellX = centerX - ring; cellX <= centerX + ring; cellX++) {
+                boolean edgeColumn = cellX == centerX - ring || cellX == centerX + ring;
+                int step = edgeColumn ? 1 : Math.max(1, ring * 2);
+                for (int cellZ = centerZ - ring; cellZ <= centerZ + ring; cellZ += step) {
+                    List<Shop> cell = grid.cells.get(BlockKey.chunk(cellX, cellZ));
+                    if (cell == null) continue;
+
+                    for (Shop shop : cell) {
+                        if (!filter.test(shop)) continue;
+
+                        double dx = shop.getBlockX() + 0.5 - x;
+                        double dy = shop.getBlockY() + 0.5 - y;
+                        double dz = shop.getBlockZ() + 0.5 - z;
+                        double distanceSquared = dx * dx + dy * dy + dz * dz;
+                        if (distanceSquared > maxDistanceSquared) continue;
+
+                        if (nearest.size() < limit) {
+                            nearest.add(new Candidate(shop, distanceSquared));
+                        } else if (distanceSquared < nearest.peek().distanceSquared()) {
+                            nearest.poll();
+                            nearest.add(new Candidate(shop, distanceSquared));
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Shop> result = new ArrayList<>(nearest.size());
+        while (!nearest.isEmpty()) {
+            result.add(nearest.poll().shop());
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    public void removeWorld(String worldName) {
+        worlds.remove(worldName);
+    }
+
+    private static long cellOf(int blockX, int blockZ) {
+        return BlockKey.chunk(blockX >> CELL_SHIFT, blockZ >> CELL_SHIFT);
+    }
+
+    private static class WorldGrid {
+        private final LongObjectMap<List<Shop>> cells = new LongObjectMap<>();
+        private int size;
+        private int minCellX = Integer.MAX_VALUE;
+        private int maxCellX = Integer.MIN_VALUE;
+        private int minCellZ = Integer.MAX_VALUE;
+        private int maxCellZ = Integer.MIN_VALUE;
+    }
+
+    private record Candidate(Shop shop, double distanceSquared) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package de.syscall.index;
+
+import de.syscall.data.Shop;
+import de.syscall.data.ShopKey;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+public class OwnerShopIndex {
+
+    private final Map<UUID, OwnerShops> owners;
+
+    public OwnerShopIndex() {
+        this.owners = new HashMap<>();
+    }
+
+    public void add(Shop shop) {
+        OwnerShops ownerShops = owners.computeIfAbsent(shop.getOwner(), k -> new OwnerShops());
+        ShopKey shopId = shop.getKey();
+
+        Integer slot = ownerShops.slots.get(shopId);
+        if (slot != null) {
+            Shop previous = ownerShops.shops.set(slot, shop);
+            String previousName = normalize(previous.getName());
+            if (ownerShops.byName.get(previousName) == previous) {
+                ownerShops.byName.put(previousName, shop);
+            }
+            return;
+        }
+
+        ownerShops.slots.put(shopId, ownerShops.shops.size());
+        ownerShops.shops.add(shop);
+        ownerShops.byName.putIfAbsent(normalize(shop.getName()), shop);
+    }
+
+    public void remove(Shop shop) {
+        OwnerShops ownerShops = owners.get(shop.getOwner());
+        if (ownerShops == null) return;
+
+        ShopKey shopId = shop.getKey();
+        Integer slot = ownerShops.slots.remove(shopId);
+        if (slot == null) return;
+
+        Shop last = ownerShops.shops.remove(ownerShops.shops.size() - 1);
+        if (slot < ownerShops.shops.size()) {
+            ownerShops.shops.set(slot, last);
+            ownerShops.slots.put(last.getKey(), slot);
+        }
+
+        if (ownerShops.shops.isEmpty()) {
+            owners.remove(shop.getOwner());
+            return;
+        }
+
+        String name = normalize(shop.getName());
+        Shop indexed = ownerShops.byName.get(name);
+        if (indexed != null && indexed.getKey().equals(shopId)) {
+            ownerShops.byName.remove(name);
+            for (Shop remaining : ownerShops.shops) {
+                if (normalize(remaining.getName()).equals(name)) {
+                    ownerShops.byName.put(name, remaining);
+                    break;
+                }
+            }
+        }
+    }
+
+    public List<Shop> getShops(UUID owner) {
+        OwnerShops ownerShops = owners.get(owner);
+        if (ownerShops == null) return Collections.emptyList();
+        return List.copyOf(ownerShops.shops);
+    }
+
+    public Shop getShopByName(UUID owner, String name) {
+        OwnerShops ownerShops = owners.get(owner);
+        if (ownerShops == null) return null;
+        return ownerShops.byName.get(normalize(name));
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static class OwnerShops {
+        private final List<Shop> shops = new ArrayList<>();
+        private final Map<ShopKey, Integer> slots = new HashMap<>();
+        private final Map<String, Shop> byName = new HashMap<>();
+    }
+}
\ No newline at end of file
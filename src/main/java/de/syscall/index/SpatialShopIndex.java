@@ -0,0 +1,79 @@
+package de.syscall.index;
+
+import de.syscall.data.Shop;
+import de.syscall.util.BlockKey;
+import de.syscall.util.LongObjectMap;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SpatialShopIndex {
+
+    private final Map<String, LongObjectMap<LongObjectMap<Shop>>> worlds;
+
+    public SpatialShopIndex() {
+        this.worlds = new HashMap<>();
+    }
+
+    public void add(Shop shop) {
+        int x = shop.getBlockX();
+        int y = shop.getBlockY();
+        int z = shop.getBlockZ();
+
+        LongObjectMap<LongObjectMap<Shop>> chunks = worlds.computeIfAbsent(shop.getWorldName(), k -> new LongObjectMap<>());
+        long chunkKey = BlockKey.chunkOf(x, z);
+        LongObjectMap<Shop> blocks = chunks.get(chunkKey);
+        if (blocks == null) {
+            blocks = new LongObjectMap<>(4);
+            chunks.put(chunkKey, blocks);
+        }
+        blocks.put(BlockKey.pack(x, y, z), shop);
+    }
+
+    public void remove(Shop shop) {
+        int x = shop.getBlockX();
+        int z = shop.getBlockZ();
+
+        LongObjectMap<LongObjectMap<Shop>> chunks = worlds.get(shop.getWorldName());
+        if (chunks == null) return;
+
+        long chunkKey = BlockKey.chunkOf(x, z);
+        LongObjectMap<Shop> blocks = chunks.get(chunkKey);
+        if (blocks == null) return;
+
+        blocks.remove(BlockKey.pack(x, shop.getBlockY(), z));
+        if (blocks.isEmpty()) {
+            chunks.remove(chunkKey);
+        }
+    }
+
+    public Shop getShopAt(World world, int x, int y, int z) {
+        LongObjectMap<LongObjectMap<Shop>> chunks = worlds.get(world.getName());
+        if (chunks == null) return null;
+
+        LongObjectMap<Shop> blocks = chunks.get(BlockKey.chunkOf(x, z));
+        if (blocks == null) return null;
+
+        return blocks.get(BlockKey.pack(x, y, z));
+    }
+
+    public List<Shop> getShopsInChunk(String worldName, int chunkX, int chunkZ) {
+        LongObjectMap<LongObjectMap<Shop>> chunks = worlds.get(worldName);
+        if (chunks == null) return Collections.emptyList();
+
+        LongObjectMap<Shop> blocks = chunks.get(BlockKey.chunk(chunkX, chunkZ));
+        if (blocks == null) return Collections.emptyList();
+
+        List<Shop> result = new ArrayList<>(blocks.size());
+        blocks.forEachValue(result::add);
+        return result;
+    }
+
+    public void removeWorld(String worldName) {
+        worlds.remove(worldName);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package de.syscall.listener;
+
+import de.syscall.SlownFinance;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+public class PlayerConnectionListener implements Listener {
+
+    private final SlownFinance plugin;
+
+    public PlayerConnectionListener(SlownFinance plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        plugin.getHologramManager().updateOwnerName(player);
+
+        plugin.getServer().getScheduler().runTaskLaterAsynchronously(plugin, () -> {
+            plugin.getHologramManager().updatePlayerHolograms(player);
+        }, 20L);
+
+        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+            if (player.isOnline()) {
+                plugin.getNotificationManager().deliverDigest(player);
+            }
+        }, 40L);
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        plugin.getHologramManager().handlePlayerQuit(event.getPlayer());
+    }
+
+    @EventHandler
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        plugin.getHologramManager().handleWorldChange(event.getPlayer());
+    }
+}
\ No newline at end of file
@@ -26,7 +26,7 @@ public class ShopClickListener implements Listener {
         if (clickedBlock == null) return;
 
         Player player = event.getPlayer();
-        Shop shop = plugin.getShopManager().getShopAtLocation(clickedBlock.getLocation());
+        Shop shop = plugin.getShopManager().getShopAt(clickedBlock.getWorld(), clickedBlock.getX(), clickedBlock.getY(), clickedBlock.getZ());
 
         if (shop == null) return;
 
@@ -3,14 +3,18 @@ package de.syscall.listener;
 import de.syscall.SlownFinance;
 import de.syscall.data.Shop;
 import de.syscall.util.ColorUtil;
+import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryMoveItemEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
@@ -38,7 +42,7 @@ public class ShopInventoryListener implements Listener {
         if (clickedBlock == null) return;
 
         Player player = event.getPlayer();
-        Shop shop = plugin.getShopManager().getShopAtLocation(clickedBlock.getLocation());
+        Shop shop = plugin.getShopManager().getShopAt(clickedBlock.getWorld(), clickedBlock.getX(), clickedBlock.getY(), clickedBlock.getZ());
 
         if (shop == null) return;
 
@@ -49,6 +53,7 @@ public class ShopInventoryListener implements Listener {
 
         event.setCancelled(true);
         editingShops.put(player.getUniqueId(), shop);
+        plugin.getShopManager().getStockTracker().invalidate(shop.getKey());
 
         player.openInventory(getChestInventory(clickedBlock));
         player.sendMessage(ColorUtil.component("&7Du kannst nur &6" + shop.getMaterial().name() + " &7hinzufügen!"));
@@ -79,9 +84,36 @@ public class ShopInventoryListener implements Listener {
         Shop shop = editingShops.remove(player.getUniqueId());
         if (shop == null) return;
 
+        plugin.getShopManager().refreshStock(shop);
         player.sendMessage(ColorUtil.component("&aShop-Inventar geschlossen!"));
     }
 
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryMoveItem(InventoryMoveItemEvent event) {
+        invalidateStock(event.getSource());
+        invalidateStock(event.getDestination());
+    }
+
+    private void invalidateStock(Inventory inventory) {
+        Location location = inventory.getLocation();
+        if (location == null) return;
+
+        World world = location.getWorld();
+        if (world == null) return;
+
+        int x = location.getBlockX();
+        int y = location.getBlockY();
+        int z = location.getBlockZ();
+        Shop shop = plugin.getShopManager().getShopAt(world, x, y, z);
+        if (shop == null && (location.getX() != x || location.getZ() != z)) {
+            shop = plugin.getShopManager().getShopAt(world, (int) Math.ceil(location.getX()), y, (int) Math.ceil(location.getZ()));
+        }
+
+        if (shop != null) {
+            plugin.getShopManager().getStockTracker().invalidate(shop.getKey());
+        }
+    }
+
     private boolean isValidShopInteraction(InventoryClickEvent event, Shop shop, ItemStack clickedItem, ItemStack cursorItem) {
         Material shopMaterial = shop.getMaterial();
 
@@ -25,12 +25,12 @@ public class ShopProtectionListener implements Listener {
         Player player = event.getPlayer();
         Block block = event.getBlock();
 
-        Shop shop = plugin.getShopManager().getShopAtLocation(block.getLocation());
+        Shop shop = plugin.getShopManager().getShopAt(block.getWorld(), block.getX(), block.getY(), block.getZ());
         if (shop == null) return;
 
         if (shop.getOwner().equals(player.getUniqueId())) {
             if (player.isSneaking()) {
-                plugin.getShopManager().deleteShop(shop.getUniqueId());
+                plugin.getShopManager().deleteShop(shop.getKey());
                 player.sendMessage(ColorUtil.component("&7Shop &6" + shop.getName() + " &7wurde gelöscht!"));
                 return;
             } else {
@@ -42,7 +42,7 @@ public class ShopProtectionListener implements Listener {
 
         if (player.hasPermission("slownfinance.shop.admin")) {
             if (player.isSneaking()) {
-                plugin.getShopManager().deleteShop(shop.getUniqueId());
+                plugin.getShopManager().deleteShop(shop.getKey());
                 player.sendMessage(ColorUtil.component("&7Shop &6" + shop.getName() + " &7wurde als Admin gelöscht!"));
                 return;
             }
@@ -55,7 +55,7 @@ public class ShopProtectionListener implements Listener {
     @EventHandler(priority = EventPriority.HIGH)
     public void onBlockExplode(BlockExplodeEvent event) {
         event.blockList().removeIf(block -> {
-            Shop shop = plugin.getShopManager().getShopAtLocation(block.getLocation());
+            Shop shop = plugin.getShopManager().getShopAt(block.getWorld(), block.getX(), block.getY(), block.getZ());
             return shop != null;
         });
     }
@@ -63,7 +63,7 @@ public class ShopProtectionListener implements Listener {
     @EventHandler(priority = EventPriority.HIGH)
     public void onEntityExplode(EntityExplodeEvent event) {
         event.blockList().removeIf(block -> {
-            Shop shop = plugin.getShopManager().getShopAtLocation(block.getLocation());
+            Shop shop = plugin.getShopManager().getShopAt(block.getWorld(), block.getX(), block.getY(), block.getZ());
             return shop != null;
         });
     }
@@ -8,25 +8,48 @@ import com.comphenix.protocol.wrappers.WrappedChatComponent;
 import com.comphenix.protocol.wrappers.WrappedDataValue;
 import com.comphenix.protocol.wrappers.WrappedDataWatcher;
 import de.syscall.SlownFinance;
+import de.syscall.data.DisplayConfig;
 import de.syscall.data.Shop;
+import de.syscall.data.ShopKey;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.craftbukkit.v1_21_R3.inventory.CraftItemStack;
+import org.joml.Quaternionf;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class HologramManager {
 
+    private static final float MAX_DISPLAY_STEP_ANGLE = 90.0f;
+    private static final byte BILLBOARD_FIXED = 0;
+    private static final byte BILLBOARD_VERTICAL = 1;
+    private static final byte BILLBOARD_CENTER = 3;
+    private static final byte DISPLAY_GROUND = 7;
+    private static final int FIRST_ENTITY_ID = 100000;
+    private static final int ENTITY_IDS_PER_SHOP = 4;
+
     private final SlownFinance plugin;
     private final ProtocolManager protocolManager;
-    private final Map<String, Set<Integer>> shopHolograms;
-    private final Map<String, Set<Integer>> shopItems;
-    private final Map<Integer, Float> itemRotations;
-    private int nextEntityId;
+    private final Map<ShopKey, HologramRecord> holograms;
+    private final Map<ShopKey, Set<UUID>> shopViewers;
+    private final Map<UUID, Set<ShopKey>> playerViews;
+    private final Map<UUID, String> ownerNames;
+    private final AtomicLong rotationPacketsSent;
+    private final AtomicInteger nextEntityId;
+    private final Object rotationLock;
+    private HologramRecord[] rotating;
+    private float[] rotationYaws;
+    private int rotatingCount;
+    private long lastPacketReport;
+    private long lastReportedPackets;
 
     private double itemHeight;
     private double priceHeight;
@@ -34,15 +57,26 @@ public class HologramManager {
     private double sellHeight;
     private float rotationSpeed;
     private int rotationInterval;
+    private boolean displayMode;
+    private int displayStepTicks;
+    private int ticksSinceStep;
     private int viewDistanceSquared;
+    private boolean logPackets;
+    private volatile DisplayConfig displayConfig;
 
     public HologramManager(SlownFinance plugin) {
         this.plugin = plugin;
         this.protocolManager = ProtocolLibrary.getProtocolManager();
-        this.shopHolograms = new ConcurrentHashMap<>();
-        this.shopItems = new ConcurrentHashMap<>();
-        this.itemRotations = new ConcurrentHashMap<>();
-        this.nextEntityId = 100000;
+        this.holograms = new ConcurrentHashMap<>();
+        this.shopViewers = new ConcurrentHashMap<>();
+        this.playerViews = new ConcurrentHashMap<>();
+        this.ownerNames = new ConcurrentHashMap<>();
+        this.rotationPacketsSent = new AtomicLong();
+        this.nextEntityId = new AtomicInteger(FIRST_ENTITY_ID);
+        this.rotationLock = new Object();
+        this.rotating = new HologramRecord[64];
+        this.rotationYaws = new float[64];
+        this.lastPacketReport = System.currentTimeMillis();
         loadConfig();
         startRotationTask();
     }
@@ -54,9 +88,17 @@ public class HologramManager {
         this.ownerHeight = plugin.getConfig().getDouble("shop.hologram.owner-height", 0.8);
         this.sellHeight = plugin.getConfig().getDouble("shop.hologram.sell-height", 1.5);
         this.rotationSpeed = (float) plugin.getConfig().getDouble("shop.hologram.rotation-speed", 1.5);
-        this.rotationInterval = plugin.getConfig().getInt("shop.hologram.rotation-interval", 2);
+        this.rotationInterval = Math.max(1, plugin.getConfig().getInt("shop.hologram.rotation-interval", 2));
+        this.displayMode = "display".equalsIgnoreCase(plugin.getConfig().getString("shop.hologram.mode", "armorstand"));
+        int stepTicks = Math.max(rotationInterval, plugin.getConfig().getInt("shop.hologram.display-step-ticks", 40));
+        if (rotationSpeed > 0) {
+            stepTicks = Math.min(stepTicks, Math.max(rotationInterval, (int) (MAX_DISPLAY_STEP_ANGLE * rotationInterval / rotationSpeed)));
+        }
+        this.displayStepTicks = stepTicks;
         int viewDistance = plugin.getConfig().getInt("shop.hologram.view-distance", 100);
         this.viewDistanceSquared = viewDistance * viewDistance;
+        this.logPackets = plugin.getConfig().getBoolean("debug.log-packets", false);
+        this.displayConfig = DisplayConfig.load(plugin.getConfig());
     }
 
     private void startRotationTask() {
@@ -69,98 +111,209 @@ public class HologramManager {
     }
 
     private void updateItemRotations() {
-        for (Map.Entry<Integer, Float> entry : itemRotations.entrySet()) {
-            int entityId = entry.getKey();
-            float newRotation = entry.getValue() + rotationSpeed;
-            if (newRotation >= 360.0f) {
-                newRotation = 0.0f;
+        reportPacketStats();
+        if (rotationSpeed <= 0) return;
+
+        float step = rotationSpeed;
+        int interpolationTicks = 0;
+        if (displayMode) {
+            ticksSinceStep += rotationInterval;
+            if (ticksSinceStep < displayStepTicks) return;
+            step = rotationSpeed * ticksSinceStep / rotationInterval;
+            interpolationTicks = ticksSinceStep;
+            ticksSinceStep = 0;
+        }
+
+        synchronized (rotationLock) {
+            for (int slot = 0; slot < rotatingCount; slot++) {
+                HologramRecord record = rotating[slot];
+                Set<UUID> viewers = shopViewers.get(record.shopId);
+                if (viewers == null || viewers.isEmpty()) continue;
+
+                float newRotation = rotationYaws[slot] + step;
+                if (newRotation >= 360.0f) {
+                    newRotation = displayMode ? newRotation - 360.0f : 0.0f;
+                }
+                rotationYaws[slot] = newRotation;
+
+                if (displayMode) {
+                    sendDisplayRotation(viewers, record.itemId, newRotation, interpolationTicks);
+                } else {
+                    sendRotationUpdate(viewers, record.itemId, newRotation);
+                }
             }
-            itemRotations.put(entityId, newRotation);
+        }
+    }
 
-            for (Player player : plugin.getServer().getOnlinePlayers()) {
-                sendRotationUpdate(player, entityId, newRotation);
+    private void addRotation(HologramRecord record) {
+        synchronized (rotationLock) {
+            if (rotatingCount == rotating.length) {
+                rotating = Arrays.copyOf(rotating, rotatingCount * 2);
+                rotationYaws = Arrays.copyOf(rotationYaws, rotatingCount * 2);
             }
+            record.rotationSlot = rotatingCount;
+            rotating[rotatingCount] = record;
+            rotationYaws[rotatingCount] = 0.0f;
+            rotatingCount++;
         }
     }
 
-    public void createShopHologram(Shop shop) {
-        String shopId = shop.getUniqueId();
-        Location loc = shop.getHologramLocation();
+    private void removeRotation(HologramRecord record) {
+        synchronized (rotationLock) {
+            int slot = record.rotationSlot;
+            if (slot < 0 || slot >= rotatingCount || rotating[slot] != record) return;
 
-        Set<Integer> hologramIds = new HashSet<>();
-        Set<Integer> itemIds = new HashSet<>();
+            int last = --rotatingCount;
+            if (slot != last) {
+                rotating[slot] = rotating[last];
+                rotationYaws[slot] = rotationYaws[last];
+                rotating[slot].rotationSlot = slot;
+            }
+            rotating[last] = null;
+            record.rotationSlot = -1;
+        }
+    }
 
-        int buyHologramId = nextEntityId++;
-        int sellHologramId = nextEntityId++;
-        int ownerHologramId = nextEntityId++;
-        int itemEntityId = nextEntityId++;
+    private void clearRotations() {
+        synchronized (rotationLock) {
+            Arrays.fill(rotating, 0, rotatingCount, null);
+            rotatingCount = 0;
+        }
+    }
 
-        hologramIds.add(buyHologramId);
-        if (shop.isSellEnabled()) {
-            hologramIds.add(sellHologramId);
+    private void reportPacketStats() {
+        long now = System.currentTimeMillis();
+        if (now - lastPacketReport < 60000) return;
+
+        long elapsed = now - lastPacketReport;
+        lastPacketReport = now;
+        long total = rotationPacketsSent.get();
+        long sent = total - lastReportedPackets;
+        lastReportedPackets = total;
+
+        if (logPackets) {
+            plugin.getLogger().info("Sent " + sent + " rotation packets in the last " + (elapsed / 1000) + "s (" +
+                    shopViewers.values().stream().filter(viewers -> !viewers.isEmpty()).count() + "/" +
+                    holograms.size() + " holograms with viewers)");
         }
-        hologramIds.add(ownerHologramId);
-        itemIds.add(itemEntityId);
+    }
 
-        shopHolograms.put(shopId, hologramIds);
-        shopItems.put(shopId, itemIds);
-        itemRotations.put(itemEntityId, 0.0f);
+    public long getRotationPacketsSent() {
+        return rotationPacketsSent.get();
+    }
+
+    public void createShopHologram(Shop shop) {
+        ShopKey shopId = shop.getKey();
+        if (holograms.containsKey(shopId)) return;
+
+        HologramRecord record = new HologramRecord(shopId, nextEntityId.getAndAdd(ENTITY_IDS_PER_SHOP), shop.isSellEnabled());
+        record.packets = buildHologramPackets(shop, record);
+        if (holograms.putIfAbsent(shopId, record) != null) return;
+        addRotation(record);
 
         for (Player player : plugin.getServer().getOnlinePlayers()) {
-            if (player.getLocation().distanceSquared(loc) < viewDistanceSquared) {
-                sendHologramPackets(player, shop, buyHologramId, sellHologramId, ownerHologramId, itemEntityId);
+            if (isInRange(player.getLocation(), shop)) {
+                addViewer(player, shopId);
+                sendHologramPackets(player, record);
             }
         }
     }
 
     public void updateShopHologram(Shop shop) {
-        removeShopHologram(shop.getUniqueId());
+        removeShopHologram(shop.getKey());
         createShopHologram(shop);
     }
 
-    private void sendHologramPackets(Player player, Shop shop, int buyId, int sellId, int ownerId, int itemId) {
-        Location chestLoc = shop.getChestLocation();
-        Location centerLoc = chestLoc.clone().add(0.5, 0, 0.5);
+    private void sendHologramPackets(Player player, HologramRecord record) {
+        try {
+            for (PacketContainer packet : record.packets) {
+                protocolManager.sendServerPacket(player, packet);
+            }
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to send hologram packets: " + e.getMessage());
+        }
+    }
+
+    private List<PacketContainer> buildHologramPackets(Shop shop, HologramRecord record) {
+        Location centerLoc = new Location(shop.getWorld(), shop.getBlockX() + 0.5, shop.getBlockY(), shop.getBlockZ() + 0.5);
+        ShopKey shopId = shop.getKey();
 
-        String buyFormat = plugin.getConfig().getString("shop.display.buy-format", "§aBuy: §6{amount}x §7für §a{price} Coins");
-        String sellFormat = plugin.getConfig().getString("shop.display.sell-format", "§cSell: §6{amount}x §7für §c{price} Coins");
-        String ownerFormat = plugin.getConfig().getString("shop.display.owner-format", "§7Shop von §6{owner}");
-        String currency = plugin.getConfig().getString("shop.display.currency-symbol", "Coins");
-        int decimalPlaces = plugin.getConfig().getInt("shop.display.decimal-places", 2);
+        HologramLines lines = renderLines(shop);
+        List<PacketContainer> packets = new ArrayList<>(8);
 
-        String buyText = buyFormat
-                .replace("{amount}", String.valueOf(shop.getAmount()))
-                .replace("{price}", String.format("%." + decimalPlaces + "f", shop.getBuyPrice()))
-                .replace("{currency}", currency);
+        addTextHologram(packets, record.buyId, entityUuid(shopId, "buy"), centerLoc.clone().add(0, priceHeight, 0), lines.buyText());
+        addTextHologram(packets, record.ownerId, entityUuid(shopId, "owner"), centerLoc.clone().add(0, ownerHeight, 0), lines.ownerText());
 
-        String ownerText = ownerFormat
-                .replace("{owner}", plugin.getServer().getOfflinePlayer(shop.getOwner()).getName());
+        if (record.sellVisible && lines.sellText() != null) {
+            addTextHologram(packets, record.sellId, entityUuid(shopId, "sell"), centerLoc.clone().add(0, sellHeight, 0), lines.sellText());
+        }
+
+        addItemHologram(packets, record.itemId, entityUuid(shopId, "item"), centerLoc.clone().add(0, itemHeight, 0),
+                shop.getFingerprint().createStack(1));
+        return List.copyOf(packets);
+    }
 
-        sendTextHologram(player, buyId, centerLoc.clone().add(0, priceHeight, 0), buyText);
-        sendTextHologram(player, ownerId, centerLoc.clone().add(0, ownerHeight, 0), ownerText);
+    private static UUID entityUuid(ShopKey shopId, String role) {
+        return UUID.nameUUIDFromBytes(("slown-finance:" + shopId + ":" + role).getBytes(StandardCharsets.UTF_8));
+    }
 
+    private HologramLines renderLines(Shop shop) {
+        DisplayConfig display = displayConfig;
+        Map<String, String> values = new HashMap<>();
+        values.put("amount", String.valueOf(shop.getAmount()));
+        values.put("currency", display.currency());
+        if (display.ownerTemplate().uses("owner")) {
+            values.put("owner", getOwnerName(shop.getOwner()));
+        }
+
+        values.put("price", display.formatPrice(shop.getBuyPrice()));
+        String buyText = display.buyTemplate().render(values);
+        String ownerText = display.ownerTemplate().render(values);
+
+        String sellText = null;
         if (shop.isSellEnabled()) {
-            String sellText = sellFormat
-                    .replace("{amount}", String.valueOf(shop.getAmount()))
-                    .replace("{price}", String.format("%." + decimalPlaces + "f", shop.getSellPrice()))
-                    .replace("{currency}", currency);
-            sendTextHologram(player, sellId, centerLoc.clone().add(0, sellHeight, 0), sellText);
+            values.put("price", display.formatPrice(shop.getSellPrice()));
+            sellText = display.sellTemplate().render(values);
         }
 
-        sendItemHologram(player, itemId, centerLoc.clone().add(0, itemHeight, 0), shop.getItem());
+        return new HologramLines(buyText, sellText, ownerText);
+    }
+
+    private String getOwnerName(UUID owner) {
+        return ownerNames.computeIfAbsent(owner, id -> {
+            String name = plugin.getServer().getOfflinePlayer(id).getName();
+            return name != null ? name : id.toString();
+        });
     }
 
-    private void sendTextHologram(Player player, int entityId, Location location, String text) {
+    public void updateOwnerName(Player player) {
+        String previous = ownerNames.replace(player.getUniqueId(), player.getName());
+        if (previous == null || previous.equals(player.getName())) return;
+
+        for (Shop shop : plugin.getShopManager().getShopsByOwner(player.getUniqueId())) {
+            HologramRecord record = holograms.get(shop.getKey());
+            if (record != null) {
+                record.packets = buildHologramPackets(shop, record);
+            }
+        }
+    }
+
+    private void addTextHologram(List<PacketContainer> packets, int entityId, UUID entityUuid, Location location, String text) {
+        if (displayMode) {
+            addTextDisplay(packets, entityId, entityUuid, location, text);
+            return;
+        }
+
         try {
             PacketContainer spawnPacket = protocolManager.createPacket(PacketType.Play.Server.SPAWN_ENTITY);
             spawnPacket.getIntegers().write(0, entityId);
-            spawnPacket.getUUIDs().write(0, UUID.randomUUID());
+            spawnPacket.getUUIDs().write(0, entityUuid);
             spawnPacket.getEntityTypeModifier().write(0, EntityType.ARMOR_STAND);
             spawnPacket.getDoubles().write(0, location.getX());
             spawnPacket.getDoubles().write(1, location.getY());
             spawnPacket.getDoubles().write(2, location.getZ());
 
-            protocolManager.sendServerPacket(player, spawnPacket);
+            packets.add(spawnPacket);
 
             PacketContainer metadataPacket = protocolManager.createPacket(PacketType.Play.Server.ENTITY_METADATA);
             metadataPacket.getIntegers().write(0, entityId);
@@ -176,33 +329,36 @@ public class HologramManager {
 
             metadataPacket.getDataValueCollectionModifier().write(0, dataValues);
 
-            protocolManager.sendServerPacket(player, metadataPacket);
+            packets.add(metadataPacket);
 
         } catch (Exception e) {
-            plugin.getLogger().warning("Failed to send text hologram: " + e.getMessage());
+            plugin.getLogger().warning("Failed to build text hologram: " + e.getMessage());
         }
     }
 
-    private void sendItemHologram(Player player, int entityId, Location location, ItemStack item) {
+    private void addItemHologram(List<PacketContainer> packets, int entityId, UUID entityUuid, Location location, ItemStack item) {
+        if (displayMode) {
+            addItemDisplay(packets, entityId, entityUuid, location, item);
+            return;
+        }
+
         try {
             PacketContainer spawnPacket = protocolManager.createPacket(PacketType.Play.Server.SPAWN_ENTITY);
             spawnPacket.getIntegers().write(0, entityId);
-            spawnPacket.getUUIDs().write(0, UUID.randomUUID());
+            spawnPacket.getUUIDs().write(0, entityUuid);
             spawnPacket.getEntityTypeModifier().write(0, EntityType.ITEM);
             spawnPacket.getDoubles().write(0, location.getX());
             spawnPacket.getDoubles().write(1, location.getY());
             spawnPacket.getDoubles().write(2, location.getZ());
 
-            protocolManager.sendServerPacket(player, spawnPacket);
+            packets.add(spawnPacket);
 
             PacketContainer metadataPacket = protocolManager.createPacket(PacketType.Play.Server.ENTITY_METADATA);
             metadataPacket.getIntegers().write(0, entityId);
 
             List<WrappedDataValue> dataValues = new ArrayList<>();
 
-            ItemStack singleItem = item.clone();
-            singleItem.setAmount(1);
-            net.minecraft.world.item.ItemStack nmsItem = CraftItemStack.asNMSCopy(singleItem);
+            net.minecraft.world.item.ItemStack nmsItem = CraftItemStack.asNMSCopy(item);
 
             dataValues.add(new WrappedDataValue(0, WrappedDataWatcher.Registry.get(Byte.class), (byte) 0x20));
             dataValues.add(new WrappedDataValue(5, WrappedDataWatcher.Registry.get(Boolean.class), true));
@@ -210,14 +366,92 @@ public class HologramManager {
 
             metadataPacket.getDataValueCollectionModifier().write(0, dataValues);
 
-            protocolManager.sendServerPacket(player, metadataPacket);
+            packets.add(metadataPacket);
 
         } catch (Exception e) {
-            plugin.getLogger().warning("Failed to send item hologram: " + e.getMessage());
+            plugin.getLogger().warning("Failed to build item hologram: " + e.getMessage());
         }
     }
 
-    private void sendRotationUpdate(Player player, int entityId, float yaw) {
+    private void addTextDisplay(List<PacketContainer> packets, int entityId, UUID entityUuid, Location location, String text) {
+        try {
+            packets.add(createSpawnPacket(entityId, entityUuid, EntityType.TEXT_DISPLAY, location));
+
+            PacketContainer metadataPacket = protocolManager.createPacket(PacketType.Play.Server.ENTITY_METADATA);
+            metadataPacket.getIntegers().write(0, entityId);
+
+            List<WrappedDataValue> dataValues = new ArrayList<>();
+            dataValues.add(new WrappedDataValue(15, WrappedDataWatcher.Registry.get(Byte.class), BILLBOARD_CENTER));
+            dataValues.add(new WrappedDataValue(23, WrappedDataWatcher.Registry.getChatComponentSerializer(false),
+                    WrappedChatComponent.fromText(text).getHandle()));
+
+            metadataPacket.getDataValueCollectionModifier().write(0, dataValues);
+            packets.add(metadataPacket);
+
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to build text display: " + e.getMessage());
+        }
+    }
+
+    private void addItemDisplay(List<PacketContainer> packets, int entityId, UUID entityUuid, Location location, ItemStack item) {
+        try {
+            packets.add(createSpawnPacket(entityId, entityUuid, EntityType.ITEM_DISPLAY, location));
+
+            PacketContainer metadataPacket = protocolManager.createPacket(PacketType.Play.Server.ENTITY_METADATA);
+            metadataPacket.getIntegers().write(0, entityId);
+
+            net.minecraft.world.item.ItemStack nmsItem = CraftItemStack.asNMSCopy(item);
+
+            List<WrappedDataValue> dataValues = new ArrayList<>();
+            dataValues.add(new WrappedDataValue(15, WrappedDataWatcher.Registry.get(Byte.class),
+                    rotationSpeed > 0 ? BILLBOARD_FIXED : BILLBOARD_VERTICAL));
+            dataValues.add(new WrappedDataValue(23, WrappedDataWatcher.Registry.getItemStackSerializer(false), nmsItem));
+            dataValues.add(new WrappedDataValue(24, WrappedDataWatcher.Registry.get(Byte.class), DISPLAY_GROUND));
+
+            metadataPacket.getDataValueCollectionModifier().write(0, dataValues);
+            packets.add(metadataPacket);
+
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to build item display: " + e.getMessage());
+        }
+    }
+
+    private PacketContainer createSpawnPacket(int entityId, UUID entityUuid, EntityType type, Location location) {
+        PacketContainer spawnPacket = protocolManager.createPacket(PacketType.Play.Server.SPAWN_ENTITY);
+        spawnPacket.getIntegers().write(0, entityId);
+        spawnPacket.getUUIDs().write(0, entityUuid);
+        spawnPacket.getEntityTypeModifier().write(0, type);
+        spawnPacket.getDoubles().write(0, location.getX());
+        spawnPacket.getDoubles().write(1, location.getY());
+        spawnPacket.getDoubles().write(2, location.getZ());
+        return spawnPacket;
+    }
+
+    private void sendDisplayRotation(Set<UUID> viewers, int entityId, float yaw, int interpolationTicks) {
+        try {
+            PacketContainer metadataPacket = protocolManager.createPacket(PacketType.Play.Server.ENTITY_METADATA);
+            metadataPacket.getIntegers().write(0, entityId);
+
+            List<WrappedDataValue> dataValues = new ArrayList<>(3);
+            dataValues.add(new WrappedDataValue(8, WrappedDataWatcher.Registry.get(Integer.class), 0));
+            dataValues.add(new WrappedDataValue(9, WrappedDataWatcher.Registry.get(Integer.class), interpolationTicks));
+            dataValues.add(new WrappedDataValue(13, WrappedDataWatcher.Registry.get(Quaternionf.class),
+                    new Quaternionf().rotationY((float) Math.toRadians(yaw))));
+            metadataPacket.getDataValueCollectionModifier().write(0, dataValues);
+
+            for (UUID viewerId : viewers) {
+                Player viewer = plugin.getServer().getPlayer(viewerId);
+                if (viewer != null) {
+                    protocolManager.sendServerPacket(viewer, metadataPacket);
+                    rotationPacketsSent.incrementAndGet();
+                }
+            }
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to send display rotation: " + e.getMessage());
+        }
+    }
+
+    private void sendRotationUpdate(Set<UUID> viewers, int entityId, float yaw) {
         try {
             PacketContainer rotationPacket = protocolManager.createPacket(PacketType.Play.Server.ENTITY_LOOK);
             rotationPacket.getIntegers().write(0, entityId);
@@ -225,80 +459,173 @@ public class HologramManager {
             rotationPacket.getBytes().write(1, (byte) 0);
             rotationPacket.getBooleans().write(0, false);
 
-            protocolManager.sendServerPacket(player, rotationPacket);
+            for (UUID viewerId : viewers) {
+                Player viewer = plugin.getServer().getPlayer(viewerId);
+                if (viewer != null) {
+                    protocolManager.sendServerPacket(viewer, rotationPacket);
+                    rotationPacketsSent.incrementAndGet();
+                }
+            }
         } catch (Exception e) {
             plugin.getLogger().warning("Failed to send rotation update: " + e.getMessage());
         }
     }
 
-    public void removeShopHologram(String shopId) {
-        Set<Integer> hologramIds = shopHolograms.remove(shopId);
-        Set<Integer> itemIds = shopItems.remove(shopId);
+    public void removeShopHologram(ShopKey shopId) {
+        HologramRecord record = holograms.remove(shopId);
+        if (record != null) {
+            removeRotation(record);
+        }
+
+        Set<UUID> viewers = shopViewers.remove(shopId);
+        if (viewers == null || record == null) return;
 
-        if (hologramIds != null) {
-            for (int entityId : hologramIds) {
-                removeEntityForAllPlayers(entityId);
+        for (UUID viewerId : viewers) {
+            Set<ShopKey> visibleShops = playerViews.get(viewerId);
+            if (visibleShops != null) {
+                visibleShops.remove(shopId);
             }
-        }
 
-        if (itemIds != null) {
-            for (int entityId : itemIds) {
-                removeEntityForAllPlayers(entityId);
-                itemRotations.remove(entityId);
+            Player viewer = plugin.getServer().getPlayer(viewerId);
+            if (viewer != null) {
+                sendDestroy(viewer, record.entityIds);
             }
         }
     }
 
-    private void removeEntityForAllPlayers(int entityId) {
-        for (Player player : plugin.getServer().getOnlinePlayers()) {
-            try {
-                PacketContainer destroyPacket = protocolManager.createPacket(PacketType.Play.Server.ENTITY_DESTROY);
-                destroyPacket.getIntLists().write(0, List.of(entityId));
-                protocolManager.sendServerPacket(player, destroyPacket);
-            } catch (Exception e) {
-                plugin.getLogger().warning("Failed to remove entity: " + e.getMessage());
-            }
+    private List<Integer> getEntityIds(ShopKey shopId) {
+        HologramRecord record = holograms.get(shopId);
+        return record != null ? record.entityIds : Collections.emptyList();
+    }
+
+    private void sendDestroy(Player player, List<Integer> entityIds) {
+        if (entityIds.isEmpty()) return;
+
+        try {
+            PacketContainer destroyPacket = protocolManager.createPacket(PacketType.Play.Server.ENTITY_DESTROY);
+            destroyPacket.getIntLists().write(0, entityIds);
+            protocolManager.sendServerPacket(player, destroyPacket);
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to remove entity: " + e.getMessage());
         }
     }
 
     public void updatePlayerHolograms(Player player) {
+        if (!player.isOnline()) return;
+
+        Location playerLocation = player.getLocation();
+        Set<ShopKey> visibleShops = playerViews.computeIfAbsent(player.getUniqueId(), k -> ConcurrentHashMap.newKeySet());
+
         for (Shop shop : plugin.getShopManager().getAllShops()) {
-            if (player.getLocation().distanceSquared(shop.getHologramLocation()) < viewDistanceSquared) {
-                String shopId = shop.getUniqueId();
-                Set<Integer> hologramIds = shopHolograms.get(shopId);
-                Set<Integer> itemIds = shopItems.get(shopId);
-
-                if (hologramIds != null && itemIds != null && !itemIds.isEmpty()) {
-                    Integer[] hIds = hologramIds.toArray(new Integer[0]);
-                    Integer[] iIds = itemIds.toArray(new Integer[0]);
-
-                    if (hIds.length >= 2) {
-                        int sellId = shop.isSellEnabled() && hIds.length >= 3 ? hIds[1] : -1;
-                        int ownerId = shop.isSellEnabled() && hIds.length >= 3 ? hIds[2] : hIds[1];
-                        sendHologramPackets(player, shop, hIds[0], sellId, ownerId, iIds[0]);
-                    }
+            ShopKey shopId = shop.getKey();
+
+            if (holograms.containsKey(shopId) && isInRange(playerLocation, shop)) {
+                if (visibleShops.add(shopId)) {
+                    addViewer(player, shopId);
+                    spawnShopHologram(player, shop);
                 }
+            } else if (visibleShops.remove(shopId)) {
+                removeViewer(player.getUniqueId(), shopId);
+                sendDestroy(player, getEntityIds(shopId));
             }
         }
     }
 
+    public void handleWorldChange(Player player) {
+        hideAllHolograms(player);
+        updatePlayerHolograms(player);
+    }
+
+    public void handlePlayerQuit(Player player) {
+        Set<ShopKey> visibleShops = playerViews.remove(player.getUniqueId());
+        if (visibleShops == null) return;
+
+        for (ShopKey shopId : visibleShops) {
+            removeViewer(player.getUniqueId(), shopId);
+        }
+    }
+
+    private void hideAllHolograms(Player player) {
+        Set<ShopKey> visibleShops = playerViews.remove(player.getUniqueId());
+        if (visibleShops == null) return;
+
+        List<Integer> entityIds = new ArrayList<>();
+        for (ShopKey shopId : visibleShops) {
+            removeViewer(player.getUniqueId(), shopId);
+            entityIds.addAll(getEntityIds(shopId));
+        }
+        sendDestroy(player, entityIds);
+    }
+
+    private void spawnShopHologram(Player player, Shop shop) {
+        HologramRecord record = holograms.get(shop.getKey());
+        if (record != null) {
+            sendHologramPackets(player, record);
+        }
+    }
+
+    private void addViewer(Player player, ShopKey shopId) {
+        playerViews.computeIfAbsent(player.getUniqueId(), k -> ConcurrentHashMap.newKeySet()).add(shopId);
+        shopViewers.computeIfAbsent(shopId, k -> ConcurrentHashMap.newKeySet()).add(player.getUniqueId());
+    }
+
+    private void removeViewer(UUID playerId, ShopKey shopId) {
+        Set<UUID> viewers = shopViewers.get(shopId);
+        if (viewers != null) {
+            viewers.remove(playerId);
+        }
+    }
+
+    private boolean isInRange(Location playerLocation, Shop shop) {
+        World world = playerLocation.getWorld();
+        if (world == null || !world.equals(shop.getWorld())) {
+            return false;
+        }
+
+        double dx = playerLocation.getX() - shop.getHologramX();
+        double dy = playerLocation.getY() - shop.getHologramY();
+        double dz = playerLocation.getZ() - shop.getHologramZ();
+        return dx * dx + dy * dy + dz * dz < viewDistanceSquared;
+    }
+
     public void reload() {
         loadConfig();
     }
 
     public void cleanup() {
-        for (Set<Integer> entityIds : shopHolograms.values()) {
-            for (int entityId : entityIds) {
-                removeEntityForAllPlayers(entityId);
-            }
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            hideAllHolograms(player);
         }
-        for (Set<Integer> entityIds : shopItems.values()) {
-            for (int entityId : entityIds) {
-                removeEntityForAllPlayers(entityId);
-            }
+        holograms.clear();
+        clearRotations();
+        shopViewers.clear();
+        playerViews.clear();
+        ownerNames.clear();
+    }
+
+    private record HologramLines(String buyText, String sellText, String ownerText) {
+    }
+
+    private static final class HologramRecord {
+        private final ShopKey shopId;
+        private final int buyId;
+        private final int sellId;
+        private final int ownerId;
+        private final int itemId;
+        private final boolean sellVisible;
+        private final List<Integer> entityIds;
+        private volatile List<PacketContainer> packets;
+        private int rotationSlot;
+
+        private HologramRecord(ShopKey shopId, int firstId, boolean sellVisible) {
+            this.shopId = shopId;
+            this.buyId = firstId;
+            this.sellId = firstId + 1;
+            this.ownerId = firstId + 2;
+            this.itemId = firstId + 3;
+            this.sellVisible = sellVisible;
+            this.entityIds = sellVisible ? List.of(buyId, sellId, ownerId, itemId) : List.of(buyId, ownerId, itemId);
+            this.rotationSlot = -1;
         }
-        shopHolograms.clear();
-        shopItems.clear();
-        itemRotations.clear();
     }
 }
\ No newline at end of file
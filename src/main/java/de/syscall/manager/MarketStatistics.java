@@ -0,0 +1,164 @@
+package de.syscall.manager;
+
+import de.syscall.data.Trade;
+import org.bukkit.Material;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+public class MarketStatistics {
+
+    private static final int HOUR_BUCKETS = 60;
+    private static final int DAY_BUCKET_MINUTES = 15;
+    private static final int DAY_BUCKETS = 96;
+    private static final Window EMPTY = new Window(0, 0, 0, 0, 0);
+
+    private final Map<Material, MaterialStats> stats;
+
+    public MarketStatistics() {
+        this.stats = new EnumMap<>(Material.class);
+    }
+
+    public synchronized void record(Trade trade) {
+        if (trade.amount() <= 0) return;
+
+        long minute = trade.timestamp() / 60000L;
+        MaterialStats materialStats = stats.computeIfAbsent(trade.material(), k -> new MaterialStats());
+        SideStats side;
+        if (trade.type() == Trade.Type.BUY) {
+            if (materialStats.buy == null) materialStats.buy = new SideStats();
+            side = materialStats.buy;
+        } else {
+            if (materialStats.sell == null) materialStats.sell = new SideStats();
+            side = materialStats.sell;
+        }
+        side.hour.add(minute, trade.amount(), trade.price());
+        side.day.add(minute / DAY_BUCKET_MINUTES, trade.amount(), trade.price());
+    }
+
+    public synchronized MarketSnapshot getSnapshot(Material material) {
+        MaterialStats materialStats = stats.get(material);
+        if (materialStats == null) return null;
+
+        long minute = System.currentTimeMillis() / 60000L;
+        long quarter = minute / DAY_BUCKET_MINUTES;
+        SideStats buy = materialStats.buy;
+        SideStats sell = materialStats.sell;
+        return new MarketSnapshot(material,
+                buy != null ? buy.hour.window(minute) : EMPTY, buy != null ? buy.day.window(quarter) : EMPTY,
+                sell != null ? sell.hour.window(minute) : EMPTY, sell != null ? sell.day.window(quarter) : EMPTY);
+    }
+
+    public synchronized void clear() {
+        stats.clear();
+    }
+
+    private static class MaterialStats {
+        private SideStats buy;
+        private SideStats sell;
+    }
+
+    private static class SideStats {
+        private final Buckets hour = new Buckets(HOUR_BUCKETS);
+        private final Buckets day = new Buckets(DAY_BUCKETS);
+    }
+
+    private static class Buckets {
+        private final long[] buckets;
+        private final int[] trades;
+        private final long[] volume;
+        private final double[] notional;
+        private final double[] minPrice;
+        private final double[] maxPrice;
+        private long currentBucket = Long.MIN_VALUE;
+        private int totalTrades;
+        private long totalVolume;
+        private double totalNotional;
+
+        private Buckets(int size) {
+            this.buckets = new long[size];
+            this.trades = new int[size];
+            this.volume = new long[size];
+            this.notional = new double[size];
+            this.minPrice = new double[size];
+            this.maxPrice = new double[size];
+            Arrays.fill(buckets, Long.MIN_VALUE);
+        }
+
+        private void add(long bucket, int amount, double price) {
+            advance(bucket);
+            if (bucket <= currentBucket - buckets.length) return;
+
+            int slot = slot(bucket);
+            if (buckets[slot] != bucket) {
+                buckets[slot] = bucket;
+                trades[slot] = 0;
+                volume[slot] = 0;
+                notional[slot] = 0;
+                minPrice[slot] = Double.MAX_VALUE;
+                maxPrice[slot] = 0;
+            }
+
+            double unitPrice = price / amount;
+            trades[slot]++;
+            volume[slot] += amount;
+            notional[slot] += price;
+            minPrice[slot] = Math.min(minPrice[slot], unitPrice);
+            maxPrice[slot] = Math.max(maxPrice[slot], unitPrice);
+
+            totalTrades++;
+            totalVolume += amount;
+            totalNotional += price;
+        }
+
+        private void advance(long bucket) {
+            if (bucket <= currentBucket) return;
+
+            if (currentBucket == Long.MIN_VALUE || bucket - currentBucket >= buckets.length) {
+                Arrays.fill(buckets, Long.MIN_VALUE);
+                totalTrades = 0;
+                totalVolume = 0;
+                totalNotional = 0;
+                currentBucket = bucket;
+                return;
+            }
+
+            for (long next = currentBucket + 1; next <= bucket; next++) {
+                int slot = slot(next);
+                if (buckets[slot] != Long.MIN_VALUE) {
+                    totalTrades -= trades[slot];
+                    totalVolume -= volume[slot];
+                    totalNotional -= notional[slot];
+                    buckets[slot] = Long.MIN_VALUE;
+                }
+            }
+            currentBucket = bucket;
+        }
+
+        private Window window(long bucket) {
+            advance(bucket);
+            if (totalTrades <= 0 || totalVolume <= 0) return EMPTY;
+
+            double min = Double.MAX_VALUE;
+            double max = 0;
+            for (int slot = 0; slot < buckets.length; slot++) {
+                if (buckets[slot] != Long.MIN_VALUE && trades[slot] > 0) {
+                    min = Math.min(min, minPrice[slot]);
+                    max = Math.max(max, maxPrice[slot]);
+                }
+            }
+            return new Window(totalTrades, totalVolume, totalNotional / totalVolume, min, max);
+        }
+
+        private int slot(long bucket) {
+            return (int) Math.floorMod(bucket, (long) buckets.length);
+        }
+    }
+
+    public record Window(int trades, long volume, double vwap, double minPrice, double maxPrice) {
+    }
+
+    public record MarketSnapshot(Material material, Window buyHour, Window buyDay, Window sellHour, Window sellDay) {
+    }
+}
\ No newline at end of file
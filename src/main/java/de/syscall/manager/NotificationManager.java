@@ -0,0 +1,235 @@
+package de.syscall.manager;
+
+import de.syscall.SlownFinance;
+import de.syscall.data.Trade;
+import de.syscall.util.ColorUtil;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public class NotificationManager {
+
+    private final SlownFinance plugin;
+    private final File digestFile;
+    private final Map<UUID, Map<String, Summary>> pending;
+    private final Map<UUID, Map<String, Summary>> digests;
+    private final Object saveLock;
+    private long saveVersion;
+    private long writtenVersion;
+    private BukkitTask flushTask;
+
+    public NotificationManager(SlownFinance plugin) {
+        this.plugin = plugin;
+        this.digestFile = new File(plugin.getDataFolder(), "digests.yml");
+        this.pending = new HashMap<>();
+        this.digests = new HashMap<>();
+        this.saveLock = new Object();
+        loadDigests();
+
+        long windowTicks = Math.max(1, plugin.getConfig().getLong("notifications.window", 10)) * 20L;
+        this.flushTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::flushPending, windowTicks, windowTicks);
+    }
+
+    public void record(Trade trade) {
+        pending.computeIfAbsent(trade.owner(), k -> new LinkedHashMap<>())
+                .computeIfAbsent(trade.shopId(), k -> new Summary(trade.shopName()))
+                .add(trade);
+    }
+
+    private void flushPending() {
+        if (pending.isEmpty()) return;
+
+        boolean digestsChanged = false;
+        for (Map.Entry<UUID, Map<String, Summary>> entry : pending.entrySet()) {
+            Player owner = plugin.getServer().getPlayer(entry.getKey());
+            if (owner != null && owner.isOnline()) {
+                for (Summary summary : entry.getValue().values()) {
+                    sendSummary(owner, summary);
+                }
+            } else {
+                Map<String, Summary> digest = digests.computeIfAbsent(entry.getKey(), k -> new LinkedHashMap<>());
+                for (Map.Entry<String, Summary> shopEntry : entry.getValue().entrySet()) {
+                    digest.merge(shopEntry.getKey(), shopEntry.getValue(), Summary::merge);
+                }
+                digestsChanged = true;
+            }
+        }
+        pending.clear();
+
+        if (digestsChanged) {
+            saveDigestsAsync();
+        }
+    }
+
+    private void sendSummary(Player owner, Summary summary) {
+        if (summary.sales == 1 && summary.purchases == 0) {
+            owner.sendMessage(ColorUtil.component("&a" + summary.lastTrader + " &7hat in deinem Shop &6" +
+                    summary.shopName + " &7eingekauft! &aErhalten: &6" + String.format("%.2f", summary.earned) + " Coins"));
+            return;
+        }
+        if (summary.purchases == 1 && summary.sales == 0) {
+            owner.sendMessage(ColorUtil.component("&a" + summary.lastTrader + " &7hat Items an deinen Shop &6" +
+                    summary.shopName + " &7verkauft! &cBezahlt: &6" + String.format("%.2f", summary.spent) + " Coins"));
+            return;
+        }
+        owner.sendMessage(ColorUtil.component(formatSummary(summary)));
+    }
+
+    private String formatSummary(Summary summary) {
+        StringBuilder message = new StringBuilder("&7Shop &6").append(summary.shopName).append("&7: ");
+        if (summary.sales > 0) {
+            message.append("&a").append(summary.sales).append(summary.sales == 1 ? " Verkauf" : " Verkäufe")
+                    .append(" &7(&a+").append(String.format("%.2f", summary.earned)).append(" Coins&7)");
+        }
+        if (summary.purchases > 0) {
+            if (summary.sales > 0) message.append("&7, ");
+            message.append("&c").append(summary.purchases).append(summary.purchases == 1 ? " Ankauf" : " Ankäufe")
+                    .append(" &7(&c-").append(String.format("%.2f", summary.spent)).append(" Coins&7)");
+        }
+        return message.toString();
+    }
+
+    public void deliverDigest(Player player) {
+        Map<String, Summary> digest = digests.remove(player.getUniqueId());
+        if (digest == null || digest.isEmpty()) return;
+
+        player.sendMessage(ColorUtil.component("&6&l◆ Während du offline warst ◆"));
+        for (Summary summary : digest.values()) {
+            player.sendMessage(ColorUtil.component(formatSummary(summary)));
+        }
+        saveDigestsAsync();
+    }
+
+    private void loadDigests() {
+        if (!digestFile.exists()) return;
+
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(digestFile);
+        for (String ownerId : config.getKeys(false)) {
+            ConfigurationSection ownerSection = config.getConfigurationSection(ownerId);
+            if (ownerSection == null) continue;
+
+            try {
+                Map<String, Summary> digest = new LinkedHashMap<>();
+                for (String shopId : ownerSection.getKeys(false)) {
+                    ConfigurationSection section = ownerSection.getConfigurationSection(shopId);
+                    if (section == null) continue;
+
+                    Summary summary = new Summary(section.getString("name", shopId));
+                    summary.sales = section.getInt("sales");
+                    summary.earned = section.getDouble("earned");
+                    summary.purchases = section.getInt("purchases");
+                    summary.spent = section.getDouble("spent");
+                    digest.put(shopId, summary);
+                }
+                digests.put(UUID.fromString(ownerId), digest);
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("Failed to load digest for " + ownerId + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private String serializeDigests() {
+        YamlConfiguration config = new YamlConfiguration();
+        for (Map.Entry<UUID, Map<String, Summary>> entry : digests.entrySet()) {
+            for (Map.Entry<String, Summary> shopEntry : entry.getValue().entrySet()) {
+                String path = entry.getKey() + "." + shopEntry.getKey();
+                Summary summary = shopEntry.getValue();
+                config.set(path + ".name", summary.shopName);
+                config.set(path + ".sales", summary.sales);
+                config.set(path + ".earned", summary.earned);
+                config.set(path + ".purchases", summary.purchases);
+                config.set(path + ".spent", summary.spent);
+            }
+        }
+        return config.saveToString();
+    }
+
+    private void saveDigestsAsync() {
+        String content = serializeDigests();
+        long version = ++saveVersion;
+        if (!plugin.isEnabled()) {
+            writeDigests(content, version);
+            return;
+        }
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> writeDigests(content, version));
+    }
+
+    private void writeDigests(String content, long version) {
+        synchronized (saveLock) {
+            if (version <= writtenVersion) return;
+            writtenVersion = version;
+            try {
+                writeAtomically(content);
+            } catch (IOException e) {
+                plugin.getLogger().severe("Could not save " + digestFile.getName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void writeAtomically(String content) throws IOException {
+        Path target = digestFile.toPath();
+        Path temp = target.resolveSibling(digestFile.getName() + ".tmp");
+
+        Files.writeString(temp, content, StandardCharsets.UTF_8);
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        flushPending();
+        writeDigests(serializeDigests(), ++saveVersion);
+    }
+
+    private static class Summary {
+        private final String shopName;
+        private String lastTrader;
+        private int sales;
+        private double earned;
+        private int purchases;
+        private double spent;
+
+        private Summary(String shopName) {
+            this.shopName = shopName;
+        }
+
+        private void add(Trade trade) {
+            lastTrader = trade.traderName();
+            if (trade.type() == Trade.Type.BUY) {
+                sales++;
+                earned += trade.price();
+            } else {
+                purchases++;
+                spent += trade.price();
+            }
+        }
+
+        private static Summary merge(Summary first, Summary second) {
+            first.sales += second.sales;
+            first.earned += second.earned;
+            first.purchases += second.purchases;
+            first.spent += second.spent;
+            first.lastTrader = second.lastTrader;
+            return first;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+package de.syscall.manager;
+
+import de.syscall.SlownFinance;
+import de.syscall.data.Shop;
+import de.syscall.data.ShopKey;
+import de.syscall.data.ShopRecord;
+import de.syscall.index.MaterialSearchIndex;
+import de.syscall.index.NearbyShopIndex;
+import de.syscall.index.OwnerShopIndex;
+import de.syscall.index.SpatialShopIndex;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ShopLoader {
+
+    private static final int MIN_SLICE_SIZE = 256;
+
+    private final SlownFinance plugin;
+
+    public ShopLoader(SlownFinance plugin) {
+        this.plugin = plugin;
+    }
+
+    public LoadResult load(List<ShopRecord> records, Map<String, World> worlds) {
+        int threads = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() - 1, 8));
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads,
+                r -> new Thread(r, "Slown-Finance-Loader-" + threadCount.incrementAndGet()));
+
+        try {
+            int sliceSize = Math.max(MIN_SLICE_SIZE, (records.size() + threads - 1) / threads);
+            List<CompletableFuture<List<Shop>>> slices = new ArrayList<>();
+            for (int from = 0; from < records.size(); from += sliceSize) {
+                List<ShopRecord> slice = records.subList(from, Math.min(records.size(), from + sliceSize));
+                slices.add(CompletableFuture.supplyAsync(() -> buildShops(slice, worlds), executor));
+            }
+
+            return CompletableFuture.allOf(slices.toArray(new CompletableFuture[0]))
+                    .thenApplyAsync(ignored -> buildIndexes(slices, records.size()), executor)
+                    .join();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private List<Shop> buildShops(List<ShopRecord> records, Map<String, World> worlds) {
+        List<Shop> shops = new ArrayList<>(records.size());
+        for (ShopRecord record : records) {
+            World world = worlds.get(record.world());
+            if (world == null) continue;
+
+            String error = validate(record);
+            if (error != null) {
+                plugin.getLogger().warning("Failed to load shop " + record.key() + ": " + error);
+                continue;
+            }
+
+            shops.add(record.toShop(world));
+        }
+        return shops;
+    }
+
+    private String validate(ShopRecord record) {
+        if (record.name() == null || record.name().isEmpty()) return "missing name";
+        if (!record.material().isItem() || record.material().isAir()) return "invalid item " + record.material();
+        if (record.itemAmount() <= 0) return "invalid item amount " + record.itemAmount();
+        if (record.amount() <= 0) return "invalid amount " + record.amount();
+        if (record.buyPrice() < 0 || record.sellPrice() < 0) return "negative price";
+        return null;
+    }
+
+    private LoadResult buildIndexes(List<CompletableFuture<List<Shop>>> slices, int expectedSize) {
+        Map<ShopKey, Shop> shops = new ConcurrentHashMap<>(expectedSize);
+        SpatialShopIndex spatialIndex = new SpatialShopIndex();
+        OwnerShopIndex ownerIndex = new OwnerShopIndex();
+        MaterialSearchIndex searchIndex = new MaterialSearchIndex();
+        NearbyShopIndex nearbyIndex = new NearbyShopIndex();
+
+        for (CompletableFuture<List<Shop>> slice : slices) {
+            for (Shop shop : slice.join()) {
+                shops.put(shop.getKey(), shop);
+                spatialIndex.add(shop);
+                ownerIndex.add(shop);
+                searchIndex.add(shop);
+                nearbyIndex.add(shop);
+            }
+        }
+        return new LoadResult(shops, spatialIndex, ownerIndex, searchIndex, nearbyIndex);
+    }
+
+    public record LoadResult(Map<ShopKey, Shop> shops, SpatialShopIndex spatialIndex, OwnerShopIndex ownerIndex,
+                             MaterialSearchIndex searchIndex, NearbyShopIndex nearbyIndex) {
+    }
+}
\ No newline at end of file
@@ -1,16 +1,30 @@
 package de.syscall.manager;
 
 import de.syscall.SlownFinance;
+import de.syscall.data.ItemFingerprint;
 import de.syscall.data.Shop;
+import de.syscall.data.ShopKey;
+import de.syscall.data.ShopRecord;
+import de.syscall.data.Trade;
+import de.syscall.index.MaterialSearchIndex;
+import de.syscall.index.NearbyShopIndex;
+import de.syscall.index.OwnerShopIndex;
+import de.syscall.index.SpatialShopIndex;
+import de.syscall.service.SnapshotShopService;
+import de.syscall.storage.JournalShopRepository;
+import de.syscall.storage.ShopRepository;
+import de.syscall.storage.SqliteShopRepository;
+import de.syscall.storage.YamlShopRepository;
 import de.syscall.util.ColorUtil;
+import de.syscall.util.InventoryKernel;
+import de.syscall.util.StripedLock;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.Chest;
 import org.bukkit.block.DoubleChest;
-import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
@@ -18,94 +32,212 @@ import org.bukkit.inventory.ItemStack;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.DoublePredicate;
 
 public class ShopManager {
 
     private final SlownFinance plugin;
-    private final Map<String, Shop> shops;
-    private final Map<String, Location> chestToShop;
-    private File shopsFile;
-    private FileConfiguration config;
+    private final ShopLoader loader;
+    private volatile Map<ShopKey, Shop> shops;
+    private volatile SpatialShopIndex spatialIndex;
+    private volatile OwnerShopIndex ownerIndex;
+    private volatile MaterialSearchIndex searchIndex;
+    private volatile NearbyShopIndex nearbyIndex;
+    private final ShopRepository repository;
+    private final StripedLock shopLocks;
+    private final StockTracker stockTracker;
+    private final MarketStatistics marketStatistics;
 
     public ShopManager(SlownFinance plugin) {
         this.plugin = plugin;
+        this.loader = new ShopLoader(plugin);
+        this.shopLocks = new StripedLock(64);
+        this.stockTracker = new StockTracker();
+        this.marketStatistics = new MarketStatistics();
         this.shops = new ConcurrentHashMap<>();
-        this.chestToShop = new ConcurrentHashMap<>();
-        initializeConfig();
+        this.spatialIndex = new SpatialShopIndex();
+        this.ownerIndex = new OwnerShopIndex();
+        this.searchIndex = new MaterialSearchIndex();
+        this.nearbyIndex = new NearbyShopIndex();
+        this.repository = createRepository();
         loadShops();
+        startStockVerification();
     }
 
-    private void initializeConfig() {
-        shopsFile = new File(plugin.getDataFolder(), "shops.yml");
-        if (!shopsFile.exists()) {
-            try {
-                shopsFile.getParentFile().mkdirs();
-                shopsFile.createNewFile();
-            } catch (Exception e) {
-                plugin.getLogger().severe("Could not create shops.yml: " + e.getMessage());
+    private void startStockVerification() {
+        long intervalTicks = plugin.getConfig().getLong("performance.stock-verify-interval", 300) * 20L;
+        if (intervalTicks <= 0) return;
+
+        plugin.getServer().getScheduler().runTaskTimer(plugin, this::verifyStock, intervalTicks, intervalTicks);
+    }
+
+    private void verifyStock() {
+        boolean debug = plugin.getConfig().getBoolean("debug.enabled", false);
+        for (Shop shop : shops.values()) {
+            StockTracker.StockLevel cached = stockTracker.getStock(shop);
+            if (cached == null || !isChunkLoaded(shop)) continue;
+
+            refreshStock(shop);
+            StockTracker.StockLevel actual = stockTracker.getStock(shop);
+            if (debug && actual != null && !actual.equals(cached)) {
+                plugin.getLogger().info("Corrected stock of shop " + shop.getKey() + ": " + cached + " -> " + actual);
             }
         }
-        config = YamlConfiguration.loadConfiguration(shopsFile);
     }
 
-    private void loadShops() {
-        shops.clear();
-        chestToShop.clear();
-
-        ConfigurationSection section = config.getConfigurationSection("shops");
-        if (section == null) return;
-
-        for (String shopId : section.getKeys(false)) {
-            try {
-                Shop shop = loadShop(shopId, section.getConfigurationSection(shopId));
-                if (shop != null) {
-                    shops.put(shopId, shop);
-                    chestToShop.put(getLocationKey(shop.getChestLocation()), shop.getChestLocation());
-                    plugin.getHologramManager().createShopHologram(shop);
+    public void refreshStock(Shop shop) {
+        Block chestBlock = shop.getWorld().getBlockAt(shop.getBlockX(), shop.getBlockY(), shop.getBlockZ());
+        Inventory chestInventory = isChest(chestBlock) ? getChestInventory(chestBlock) : null;
+        if (chestInventory == null) {
+            stockTracker.invalidate(shop.getKey());
+        } else {
+            stockTracker.recount(shop, chestInventory);
+        }
+    }
+
+    public StockTracker getStockTracker() {
+        return stockTracker;
+    }
+
+    public MarketStatistics getMarketStatistics() {
+        return marketStatistics;
+    }
+
+    private ShopRepository createRepository() {
+        File yamlFile = new File(plugin.getDataFolder(), "shops.yml");
+        String type = plugin.getConfig().getString("storage.type", "yaml").toLowerCase();
+
+        ShopRepository repository = null;
+        try {
+            switch (type) {
+                case "sqlite" -> repository = new SqliteShopRepository(plugin, new File(plugin.getDataFolder(), "shops.db"));
+                case "journal" -> repository = new JournalShopRepository(plugin, new File(plugin.getDataFolder(), "journal"));
+                default -> {
                 }
-            } catch (Exception e) {
-                plugin.getLogger().warning("Failed to load shop " + shopId + ": " + e.getMessage());
             }
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Could not open " + type + " storage: " + e.getMessage(), e);
+        }
+
+        if (repository == null) {
+            return new YamlShopRepository(plugin, yamlFile);
+        }
+
+        if (repository.isEmpty() && yamlFile.length() > 0) {
+            importShops(yamlFile, repository);
+        }
+        return repository;
+    }
+
+    private void importShops(File yamlFile, ShopRepository target) {
+        YamlShopRepository source = new YamlShopRepository(plugin, yamlFile);
+        List<ShopRecord> records = source.loadAll();
+        source.close();
+        if (records.isEmpty()) return;
+
+        if (!target.saveAll(records)) {
+            plugin.getLogger().severe("Could not import shops.yml, it will be imported again on the next start");
+            return;
+        }
+        plugin.getLogger().info("Imported " + records.size() + " shops from shops.yml");
+
+        try {
+            Files.move(yamlFile.toPath(), yamlFile.toPath().resolveSibling("shops.yml.migrated"),
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not rename shops.yml after import: " + e.getMessage());
         }
     }
 
-    private Shop loadShop(String shopId, ConfigurationSection section) {
-        if (section == null) return null;
+    private void loadShops() {
+        long start = System.currentTimeMillis();
 
-        String name = section.getString("name");
-        UUID owner = UUID.fromString(section.getString("owner"));
-        Location chestLocation = loadLocation(section.getConfigurationSection("chest"));
+        Map<String, World> worlds = new HashMap<>();
+        List<ShopRecord> records = new ArrayList<>();
+        for (World world : plugin.getServer().getWorlds()) {
+            worlds.put(world.getName(), world);
+            records.addAll(repository.loadByWorld(world.getName()));
+        }
 
-        if (chestLocation == null) return null;
+        ShopLoader.LoadResult result = loader.load(records, worlds);
 
-        Material material = Material.valueOf(section.getString("item.material"));
-        int itemAmount = section.getInt("item.amount", 1);
-        ItemStack item = new ItemStack(material, itemAmount);
+        for (ShopKey shopId : shops.keySet()) {
+            plugin.getHologramManager().removeShopHologram(shopId);
+        }
+        shops = result.shops();
+        spatialIndex = result.spatialIndex();
+        ownerIndex = result.ownerIndex();
+        searchIndex = result.searchIndex();
+        nearbyIndex = result.nearbyIndex();
+        stockTracker.clear();
+
+        for (Shop shop : shops.values()) {
+            if (isChunkLoaded(shop)) {
+                plugin.getHologramManager().createShopHologram(shop);
+            }
+        }
 
-        int amount = section.getInt("amount");
-        double buyPrice = section.getDouble("buy-price");
+        catalogChanged();
+        plugin.getLogger().info("Loaded " + shops.size() + " shops in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    public void loadWorld(World world) {
+        ShopLoader.LoadResult result = loader.load(repository.loadByWorld(world.getName()),
+                Map.of(world.getName(), world));
+        for (Shop shop : result.shops().values()) {
+            shops.put(shop.getKey(), shop);
+            spatialIndex.add(shop);
+            ownerIndex.add(shop);
+            searchIndex.add(shop);
+            nearbyIndex.add(shop);
+
+            if (isChunkLoaded(shop)) {
+                plugin.getHologramManager().createShopHologram(shop);
+            }
+        }
+        catalogChanged();
+    }
 
-        Shop shop = new Shop(name, owner, chestLocation, item, amount, buyPrice);
-        shop.setActive(section.getBoolean("active", true));
-        shop.setSellPrice(section.getDouble("sell-price", 0.0));
-        shop.setSellEnabled(section.getBoolean("sell-enabled", false));
+    public void unloadWorld(World world) {
+        String worldName = world.getName();
+        shops.values().removeIf(shop -> {
+            if (!worldName.equals(shop.getWorldName())) return false;
+            plugin.getHologramManager().removeShopHologram(shop.getKey());
+            ownerIndex.remove(shop);
+            searchIndex.remove(shop);
+            stockTracker.invalidate(shop.getKey());
+            return true;
+        });
+        spatialIndex.removeWorld(worldName);
+        nearbyIndex.removeWorld(worldName);
+        catalogChanged();
+    }
 
-        return shop;
+    public void activateChunk(Chunk chunk) {
+        for (Shop shop : spatialIndex.getShopsInChunk(chunk.getWorld().getName(), chunk.getX(), chunk.getZ())) {
+            plugin.getHologramManager().createShopHologram(shop);
+        }
     }
 
-    private Location loadLocation(ConfigurationSection section) {
-        if (section == null) return null;
+    public void deactivateChunk(Chunk chunk) {
+        for (Shop shop : spatialIndex.getShopsInChunk(chunk.getWorld().getName(), chunk.getX(), chunk.getZ())) {
+            plugin.getHologramManager().removeShopHologram(shop.getKey());
+        }
+    }
 
-        return new Location(
-                plugin.getServer().getWorld(section.getString("world")),
-                section.getDouble("x"),
-                section.getDouble("y"),
-                section.getDouble("z")
-        );
+    private boolean isChunkLoaded(Shop shop) {
+        return shop.getWorld().isChunkLoaded(shop.getBlockX() >> 4, shop.getBlockZ() >> 4);
     }
 
     public boolean createShop(Player player, String name, int amount, double buyPrice) {
@@ -117,9 +249,8 @@ public class ShopManager {
         }
 
         Location chestLocation = targetBlock.getLocation();
-        String locationKey = getLocationKey(chestLocation);
 
-        if (chestToShop.containsKey(locationKey)) {
+        if (getShopAt(targetBlock.getWorld(), targetBlock.getX(), targetBlock.getY(), targetBlock.getZ()) != null) {
             player.sendMessage(ColorUtil.component("&cHier existiert bereits ein Shop!"));
             return false;
         }
@@ -136,18 +267,22 @@ public class ShopManager {
             return false;
         }
 
-        if (!hasEnoughItems(chestInventory, firstItem, amount)) {
+        if (InventoryKernel.count(chestInventory, new ItemFingerprint(firstItem)) < amount) {
             player.sendMessage(ColorUtil.component("&cNicht genug Items in der Kiste! Benötigt: " + amount));
             return false;
         }
 
         Shop shop = new Shop(name, player.getUniqueId(), chestLocation, firstItem, amount, buyPrice);
-        String shopId = shop.getUniqueId();
+        ShopKey shopId = shop.getKey();
 
         shops.put(shopId, shop);
-        chestToShop.put(locationKey, chestLocation);
+        spatialIndex.add(shop);
+        ownerIndex.add(shop);
+        searchIndex.add(shop);
+        nearbyIndex.add(shop);
 
         saveShop(shop);
+        catalogChanged();
         plugin.getHologramManager().createShopHologram(shop);
 
         player.sendMessage(ColorUtil.component("&aShop erstellt! Kaufpreis: &6" +
@@ -156,131 +291,271 @@ public class ShopManager {
         return true;
     }
 
-    public boolean deleteShop(String shopId) {
-        Shop shop = shops.remove(shopId);
-        if (shop == null) return false;
+    public boolean deleteShop(ShopKey shopId) {
+        ReentrantLock lock = shopLocks.get(shopId);
+        lock.lock();
+        try {
+            Shop shop = shops.remove(shopId);
+            if (shop == null) return false;
+            stockTracker.invalidate(shopId);
+
+            spatialIndex.remove(shop);
+            ownerIndex.remove(shop);
+            searchIndex.remove(shop);
+            nearbyIndex.remove(shop);
+            plugin.getHologramManager().removeShopHologram(shopId);
+
+            repository.delete(ShopRecord.of(shop));
+            catalogChanged();
+
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
 
-        chestToShop.remove(getLocationKey(shop.getChestLocation()));
-        plugin.getHologramManager().removeShopHologram(shopId);
+    public boolean buyFromShop(Player buyer, Shop shop) {
+        return buyFromShop(buyer, shop, 1);
+    }
 
-        config.set("shops." + shopId, null);
-        saveConfig();
+    public boolean buyFromShop(Player buyer, Shop shop, int lots) {
+        ReentrantLock lock = shopLocks.get(shop.getKey());
+        lock.lock();
+        try {
+            Shop current = shops.get(shop.getKey());
+            if (current == null) {
+                buyer.sendMessage(ColorUtil.component("&cDieser Shop existiert nicht mehr!"));
+                return false;
+            }
+            return executeBuy(buyer, current, lots);
+        } finally {
+            lock.unlock();
+        }
+    }
 
-        return true;
+    public boolean sellToShop(Player seller, Shop shop) {
+        return sellToShop(seller, shop, 1);
     }
 
-    public boolean buyFromShop(Player buyer, Shop shop) {
+    public boolean sellToShop(Player seller, Shop shop, int lots) {
+        ReentrantLock lock = shopLocks.get(shop.getKey());
+        lock.lock();
+        try {
+            Shop current = shops.get(shop.getKey());
+            if (current == null) {
+                seller.sendMessage(ColorUtil.component("&cDieser Shop existiert nicht mehr!"));
+                return false;
+            }
+            return executeSell(seller, current, lots);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Shop toggleShop(Shop shop) {
+        ReentrantLock lock = shopLocks.get(shop.getKey());
+        lock.lock();
+        try {
+            Shop current = shops.get(shop.getKey());
+            if (current == null) return null;
+
+            Shop updated = current.withActive(!current.isActive());
+            updateShop(updated);
+            return updated;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Shop setSellPrice(Shop shop, double sellPrice) {
+        ReentrantLock lock = shopLocks.get(shop.getKey());
+        lock.lock();
+        try {
+            Shop current = shops.get(shop.getKey());
+            if (current == null) return null;
+
+            Shop updated = current.withSellPrice(sellPrice);
+            if (updated != current) {
+                updateShop(updated);
+            }
+            return updated;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean executeBuy(Player buyer, Shop shop, int requestedLots) {
         if (!shop.isActive()) {
             buyer.sendMessage(ColorUtil.component("&cDieser Shop ist nicht aktiv!"));
             return false;
         }
 
-        double totalPrice = shop.getBuyPrice();
-        if (!plugin.getVecturAPI().hasCoins(buyer, totalPrice)) {
+        int lotSize = shop.getAmount();
+        double unitPrice = shop.getBuyPrice();
+        if (!plugin.getVecturAPI().hasCoins(buyer, unitPrice)) {
             buyer.sendMessage(ColorUtil.component("&cDu hast nicht genug Coins! Benötigt: " +
-                    String.format("%.2f", totalPrice)));
+                    String.format("%.2f", unitPrice)));
+            return false;
+        }
+
+        StockTracker.StockLevel stock = stockTracker.getStock(shop);
+        if (stock != null && stock.items() < lotSize) {
+            buyer.sendMessage(ColorUtil.component("&cNicht genug Items im Shop verfügbar!"));
             return false;
         }
 
-        Block chestBlock = shop.getChestLocation().getBlock();
+        Block chestBlock = shop.getWorld().getBlockAt(shop.getBlockX(), shop.getBlockY(), shop.getBlockZ());
         if (!isChest(chestBlock)) {
             buyer.sendMessage(ColorUtil.component("&cShop-Kiste nicht gefunden!"));
             return false;
         }
 
         Inventory chestInventory = getChestInventory(chestBlock);
-        if (chestInventory == null || !hasEnoughItems(chestInventory, shop.getItem(), shop.getAmount())) {
+        int lots = chestInventory == null ? 0 : Math.min(requestedLots, stockTracker.getStock(shop, chestInventory).items() / lotSize);
+        if (lots <= 0) {
             buyer.sendMessage(ColorUtil.component("&cNicht genug Items im Shop verfügbar!"));
             return false;
         }
 
-        if (buyer.getInventory().firstEmpty() == -1) {
+        lots = Math.min(lots, InventoryKernel.freeSpace(buyer.getInventory(), shop.getFingerprint()) / lotSize);
+        if (lots <= 0) {
             buyer.sendMessage(ColorUtil.component("&cDein Inventar ist voll!"));
             return false;
         }
 
-        removeItemsFromInventory(chestInventory, shop.getItem(), shop.getAmount());
+        if (lots > 1) {
+            lots = Math.max(1, getAffordableLots(lots, unitPrice, price -> plugin.getVecturAPI().hasCoins(buyer, price)));
+        }
+        int itemAmount = lots * lotSize;
+        double totalPrice = lots * unitPrice;
 
-        ItemStack purchasedItems = shop.getItem().clone();
-        purchasedItems.setAmount(shop.getAmount());
-        buyer.getInventory().addItem(purchasedItems);
+        if (!InventoryKernel.remove(chestInventory, shop.getFingerprint(), itemAmount)) {
+            stockTracker.invalidate(shop.getKey());
+            buyer.sendMessage(ColorUtil.component("&cNicht genug Items im Shop verfügbar!"));
+            return false;
+        }
+        if (!InventoryKernel.insert(buyer.getInventory(), shop.getFingerprint(), itemAmount)) {
+            InventoryKernel.insert(chestInventory, shop.getFingerprint(), itemAmount);
+            stockTracker.invalidate(shop.getKey());
+            buyer.sendMessage(ColorUtil.component("&cDein Inventar ist voll!"));
+            return false;
+        }
+        stockTracker.recordRemoved(shop, itemAmount);
 
         plugin.getVecturAPI().removeCoins(buyer, totalPrice);
         plugin.getVecturAPI().getCoinManager().addCoins(shop.getOwner(), totalPrice);
 
-        buyer.sendMessage(ColorUtil.component("&aKauf erfolgreich! &7Bezahlt: &6" +
+        String lotInfo = lots > 1 ? itemAmount + "x &7für &6" : "";
+        buyer.sendMessage(ColorUtil.component("&aKauf erfolgreich! &7Bezahlt: &6" + lotInfo +
                 String.format("%.2f", totalPrice) + " Coins"));
 
-        Player owner = plugin.getServer().getPlayer(shop.getOwner());
-        if (owner != null && owner.isOnline()) {
-            owner.sendMessage(ColorUtil.component("&a" + buyer.getName() + " &7hat in deinem Shop &6" +
-                    shop.getName() + " &7eingekauft! &aErhalten: &6" + String.format("%.2f", shop.getBuyPrice()) + " Coins"));
-        }
+        recordTrade(Trade.of(Trade.Type.BUY, shop, buyer, itemAmount, totalPrice));
 
         return true;
     }
 
-    public boolean sellToShop(Player seller, Shop shop) {
+    private boolean executeSell(Player seller, Shop shop, int requestedLots) {
         if (!shop.isActive() || !shop.isSellEnabled()) {
             seller.sendMessage(ColorUtil.component("&cDieser Shop kauft keine Items an!"));
             return false;
         }
 
-        if (!hasItemsInInventory(seller.getInventory(), shop.getItem(), shop.getAmount())) {
-            seller.sendMessage(ColorUtil.component("&cDu hast nicht genug Items! Benötigt: " + shop.getAmount()));
+        int lotSize = shop.getAmount();
+        int lots = Math.min(requestedLots, InventoryKernel.count(seller.getInventory(), shop.getFingerprint()) / lotSize);
+        if (lots <= 0) {
+            seller.sendMessage(ColorUtil.component("&cDu hast nicht genug Items! Benötigt: " + lotSize));
             return false;
         }
 
-        Block chestBlock = shop.getChestLocation().getBlock();
+        StockTracker.StockLevel stock = stockTracker.getStock(shop);
+        if (stock != null && stock.space() < lotSize) {
+            seller.sendMessage(ColorUtil.component("&cShop-Kiste hat keinen Platz mehr!"));
+            return false;
+        }
+
+        Block chestBlock = shop.getWorld().getBlockAt(shop.getBlockX(), shop.getBlockY(), shop.getBlockZ());
         if (!isChest(chestBlock)) {
             seller.sendMessage(ColorUtil.component("&cShop-Kiste nicht gefunden!"));
             return false;
         }
 
         Inventory chestInventory = getChestInventory(chestBlock);
-        if (chestInventory == null || !hasSpaceInInventory(chestInventory, shop.getItem(), shop.getAmount())) {
+        lots = chestInventory == null ? 0 : Math.min(lots, stockTracker.getStock(shop, chestInventory).space() / lotSize);
+        if (lots <= 0) {
             seller.sendMessage(ColorUtil.component("&cShop-Kiste hat keinen Platz mehr!"));
             return false;
         }
 
-        if (!plugin.getVecturAPI().getCoinManager().hasBankCoins(shop.getOwner(), shop.getSellPrice())) {
+        double unitPrice = shop.getSellPrice();
+        lots = getAffordableLots(lots, unitPrice, price -> plugin.getVecturAPI().getCoinManager().hasBankCoins(shop.getOwner(), price));
+        if (lots <= 0) {
             seller.sendMessage(ColorUtil.component("&cShop-Besitzer hat nicht genug Coins in der Bank!"));
             return false;
         }
 
-        removeItemsFromInventory(seller.getInventory(), shop.getItem(), shop.getAmount());
+        int itemAmount = lots * lotSize;
+        double totalPrice = lots * unitPrice;
+
+        if (!InventoryKernel.remove(seller.getInventory(), shop.getFingerprint(), itemAmount)) {
+            seller.sendMessage(ColorUtil.component("&cDu hast nicht genug Items! Benötigt: " + lotSize));
+            return false;
+        }
+        if (!InventoryKernel.insert(chestInventory, shop.getFingerprint(), itemAmount)) {
+            InventoryKernel.insert(seller.getInventory(), shop.getFingerprint(), itemAmount);
+            stockTracker.invalidate(shop.getKey());
+            seller.sendMessage(ColorUtil.component("&cShop-Kiste hat keinen Platz mehr!"));
+            return false;
+        }
+        stockTracker.recordAdded(shop, itemAmount);
+
+        plugin.getVecturAPI().getCoinManager().removeBankCoins(shop.getOwner(), totalPrice);
+        plugin.getVecturAPI().addCoins(seller, totalPrice);
 
-        ItemStack soldItems = shop.getItem().clone();
-        soldItems.setAmount(shop.getAmount());
-        chestInventory.addItem(soldItems);
+        String lotInfo = lots > 1 ? itemAmount + "x &7für &6" : "";
+        seller.sendMessage(ColorUtil.component("&aVerkauf erfolgreich! &7Erhalten: &6" + lotInfo +
+                String.format("%.2f", totalPrice) + " Coins"));
 
-        plugin.getVecturAPI().getCoinManager().removeBankCoins(shop.getOwner(), shop.getSellPrice());
-        plugin.getVecturAPI().addCoins(seller, shop.getSellPrice());
+        recordTrade(Trade.of(Trade.Type.SELL, shop, seller, itemAmount, totalPrice));
 
-        seller.sendMessage(ColorUtil.component("&aVerkauf erfolgreich! &7Erhalten: &6" +
-                String.format("%.2f", shop.getSellPrice()) + " Coins"));
+        return true;
+    }
 
-        Player owner = plugin.getServer().getPlayer(shop.getOwner());
-        if (owner != null && owner.isOnline()) {
-            owner.sendMessage(ColorUtil.component("&a" + seller.getName() + " &7hat Items an deinen Shop &6" +
-                    shop.getName() + " &7verkauft! &cBezahlt: &6" + String.format("%.2f", shop.getSellPrice()) + " Coins"));
+    private void recordTrade(Trade trade) {
+        marketStatistics.record(trade);
+        plugin.getNotificationManager().record(trade);
+        if (plugin.getTradeLedger() != null) {
+            plugin.getTradeLedger().append(trade);
         }
+    }
 
-        return true;
+    private int getAffordableLots(int maxLots, double unitPrice, DoublePredicate hasCoins) {
+        if (hasCoins.test(maxLots * unitPrice)) {
+            return maxLots;
+        }
+
+        int low = 0;
+        int high = maxLots - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (hasCoins.test(mid * unitPrice)) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
     }
 
     public Shop getShopAtLocation(Location location) {
-        String locationKey = getLocationKey(location);
-        Location chestLocation = chestToShop.get(locationKey);
-        if (chestLocation == null) return null;
+        return getShopAt(location.getWorld(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
 
-        return shops.values().stream()
-                .filter(shop -> shop.getChestLocation().equals(chestLocation))
-                .findFirst()
-                .orElse(null);
+    public Shop getShopAt(World world, int x, int y, int z) {
+        if (world == null) return null;
+        return spatialIndex.getShopAt(world, x, y, z);
     }
 
-    public Shop getShop(String shopId) {
+    public Shop getShop(ShopKey shopId) {
         return shops.get(shopId);
     }
 
@@ -289,15 +564,44 @@ public class ShopManager {
     }
 
     public Collection<Shop> getShopsByOwner(UUID owner) {
-        return shops.values().stream()
-                .filter(shop -> shop.getOwner().equals(owner))
-                .toList();
+        return ownerIndex.getShops(owner);
+    }
+
+    public Shop getShopByName(UUID owner, String name) {
+        return ownerIndex.getShopByName(owner, name);
+    }
+
+    public List<Shop> getCheapestSellers(Material material, int limit) {
+        return searchIndex.getCheapestSellers(material, limit);
+    }
+
+    public List<Shop> getBestBuyers(Material material, int limit) {
+        return searchIndex.getBestBuyers(material, limit);
+    }
+
+    public List<Shop> getNearestShops(Location location, int limit, Material material, boolean sellOnly) {
+        return getNearestShops(location, limit, Double.MAX_VALUE, material, sellOnly);
+    }
+
+    public List<Shop> getNearestShops(Location location, int limit, double maxDistance, Material material, boolean sellOnly) {
+        return nearbyIndex.findNearest(location, limit, maxDistance, shop -> shop.isActive()
+                && (material == null || shop.getMaterial() == material)
+                && (!sellOnly || shop.isSellEnabled()));
     }
 
     public void updateShop(Shop shop) {
-        shops.put(shop.getUniqueId(), shop);
+        shops.put(shop.getKey(), shop);
+        spatialIndex.add(shop);
+        ownerIndex.add(shop);
+        searchIndex.add(shop);
+        nearbyIndex.add(shop);
         saveShop(shop);
-        plugin.getHologramManager().updateShopHologram(shop);
+        catalogChanged();
+        if (isChunkLoaded(shop)) {
+            plugin.getHologramManager().updateShopHologram(shop);
+        } else {
+            plugin.getHologramManager().removeShopHologram(shop.getKey());
+        }
     }
 
     private boolean isChest(Block block) {
@@ -324,97 +628,23 @@ public class ShopManager {
         return null;
     }
 
-    private boolean hasEnoughItems(Inventory inventory, ItemStack targetItem, int requiredAmount) {
-        int count = 0;
-        for (ItemStack item : inventory.getContents()) {
-            if (item != null && item.isSimilar(targetItem)) {
-                count += item.getAmount();
-                if (count >= requiredAmount) {
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-
-    private boolean hasItemsInInventory(Inventory inventory, ItemStack targetItem, int requiredAmount) {
-        return hasEnoughItems(inventory, targetItem, requiredAmount);
-    }
-
-    private boolean hasSpaceInInventory(Inventory inventory, ItemStack targetItem, int amount) {
-        int availableSpace = 0;
-        for (ItemStack item : inventory.getContents()) {
-            if (item == null || item.getType() == Material.AIR) {
-                availableSpace += targetItem.getMaxStackSize();
-            } else if (item.isSimilar(targetItem)) {
-                availableSpace += targetItem.getMaxStackSize() - item.getAmount();
-            }
-            if (availableSpace >= amount) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private void removeItemsFromInventory(Inventory inventory, ItemStack targetItem, int amountToRemove) {
-        int remaining = amountToRemove;
-
-        for (int i = 0; i < inventory.getSize() && remaining > 0; i++) {
-            ItemStack item = inventory.getItem(i);
-            if (item != null && item.isSimilar(targetItem)) {
-                int itemAmount = item.getAmount();
-                if (itemAmount <= remaining) {
-                    inventory.setItem(i, null);
-                    remaining -= itemAmount;
-                } else {
-                    item.setAmount(itemAmount - remaining);
-                    remaining = 0;
-                }
-            }
-        }
-    }
-
-    private String getLocationKey(Location location) {
-        return location.getWorld().getName() + "_" +
-                location.getBlockX() + "_" +
-                location.getBlockY() + "_" +
-                location.getBlockZ();
-    }
-
     private void saveShop(Shop shop) {
-        String path = "shops." + shop.getUniqueId();
-
-        config.set(path + ".name", shop.getName());
-        config.set(path + ".owner", shop.getOwner().toString());
-        saveLocation(path + ".chest", shop.getChestLocation());
-        config.set(path + ".item.material", shop.getMaterial().name());
-        config.set(path + ".item.amount", shop.getItem().getAmount());
-        config.set(path + ".amount", shop.getAmount());
-        config.set(path + ".buy-price", shop.getBuyPrice());
-        config.set(path + ".sell-price", shop.getSellPrice());
-        config.set(path + ".active", shop.isActive());
-        config.set(path + ".sell-enabled", shop.isSellEnabled());
-
-        saveConfig();
-    }
-
-    private void saveLocation(String path, Location location) {
-        config.set(path + ".world", location.getWorld().getName());
-        config.set(path + ".x", location.getX());
-        config.set(path + ".y", location.getY());
-        config.set(path + ".z", location.getZ());
+        repository.save(ShopRecord.of(shop));
     }
 
-    private void saveConfig() {
-        try {
-            config.save(shopsFile);
-        } catch (IOException e) {
-            plugin.getLogger().severe("Could not save shops.yml: " + e.getMessage());
+    private void catalogChanged() {
+        SnapshotShopService shopService = plugin.getShopService();
+        if (shopService != null) {
+            shopService.invalidate();
         }
     }
 
     public void reloadConfig() {
-        config = YamlConfiguration.loadConfiguration(shopsFile);
+        repository.reload();
         loadShops();
     }
+
+    public void shutdown() {
+        repository.close();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package de.syscall.manager;
+
+import de.syscall.data.ItemFingerprint;
+import de.syscall.data.Shop;
+import de.syscall.data.ShopKey;
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class StockTracker {
+
+    private final Map<ShopKey, StockLevel> levels;
+
+    public StockTracker() {
+        this.levels = new ConcurrentHashMap<>();
+    }
+
+    public StockLevel getStock(Shop shop) {
+        return levels.get(shop.getKey());
+    }
+
+    public StockLevel getStock(Shop shop, Inventory chestInventory) {
+        StockLevel level = levels.get(shop.getKey());
+        if (level == null) {
+            level = recount(shop, chestInventory);
+        }
+        return level;
+    }
+
+    public StockLevel recount(Shop shop, Inventory chestInventory) {
+        StockLevel level = count(chestInventory, shop.getFingerprint());
+        levels.put(shop.getKey(), level);
+        return level;
+    }
+
+    public void recordRemoved(Shop shop, int amount) {
+        levels.computeIfPresent(shop.getKey(), (id, level) ->
+                new StockLevel(Math.max(0, level.items() - amount), level.space() + amount));
+    }
+
+    public void recordAdded(Shop shop, int amount) {
+        levels.computeIfPresent(shop.getKey(), (id, level) ->
+                new StockLevel(level.items() + amount, Math.max(0, level.space() - amount)));
+    }
+
+    public void invalidate(ShopKey shopId) {
+        levels.remove(shopId);
+    }
+
+    public void clear() {
+        levels.clear();
+    }
+
+    private StockLevel count(Inventory inventory, ItemFingerprint fingerprint) {
+        int maxStackSize = fingerprint.getMaxStackSize();
+        int items = 0;
+        int space = 0;
+
+        for (ItemStack item : inventory.getContents()) {
+            if (item == null || item.getType() == Material.AIR) {
+                space += maxStackSize;
+            } else if (fingerprint.matches(item)) {
+                items += item.getAmount();
+                space += Math.max(0, maxStackSize - item.getAmount());
+            }
+        }
+        return new StockLevel(items, space);
+    }
+
+    public record StockLevel(int items, int space) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package de.syscall.service;
+
+import de.syscall.data.Shop;
+import org.bukkit.Material;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public final class ShopCatalog {
+
+    private final long version;
+    private final Map<String, ShopSnapshot> shops;
+    private final Map<UUID, List<ShopSnapshot>> byOwner;
+    private final Map<Material, List<ShopSnapshot>> byMaterial;
+    private final Map<String, List<ShopSnapshot>> byWorld;
+
+    private ShopCatalog(long version, Map<String, ShopSnapshot> shops, Map<UUID, List<ShopSnapshot>> byOwner,
+                        Map<Material, List<ShopSnapshot>> byMaterial, Map<String, List<ShopSnapshot>> byWorld) {
+        this.version = version;
+        this.shops = shops;
+        this.byOwner = byOwner;
+        this.byMaterial = byMaterial;
+        this.byWorld = byWorld;
+    }
+
+    public static ShopCatalog empty() {
+        return new ShopCatalog(0, Collections.emptyMap(), Collections.emptyMap(),
+                Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    public static ShopCatalog build(long version, Collection<Shop> source) {
+        Map<String, ShopSnapshot> shops = new HashMap<>(Math.max(16, source.size() * 2));
+        Map<UUID, List<ShopSnapshot>> byOwner = new HashMap<>();
+        Map<Material, List<ShopSnapshot>> byMaterial = new EnumMap<>(Material.class);
+        Map<String, List<ShopSnapshot>> byWorld = new HashMap<>();
+
+        for (Shop shop : source) {
+            ShopSnapshot snapshot = ShopSnapshot.of(shop);
+            shops.put(snapshot.shopId(), snapshot);
+            byOwner.computeIfAbsent(snapshot.owner(), k -> new ArrayList<>()).add(snapshot);
+            byMaterial.computeIfAbsent(snapshot.material(), k -> new ArrayList<>()).add(snapshot);
+            byWorld.computeIfAbsent(snapshot.world(), k -> new ArrayList<>()).add(snapshot);
+        }
+
+        return new ShopCatalog(version, Collections.unmodifiableMap(shops), freeze(byOwner),
+                freeze(byMaterial), freeze(byWorld));
+    }
+
+    private static <K> Map<K, List<ShopSnapshot>> freeze(Map<K, List<ShopSnapshot>> index) {
+        index.replaceAll((key, list) -> List.copyOf(list));
+        return Collections.unmodifiableMap(index);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return shops.size();
+    }
+
+    public ShopSnapshot getShop(String shopId) {
+        return shops.get(shopId);
+    }
+
+    public Collection<ShopSnapshot> getShops() {
+        return shops.values();
+    }
+
+    public List<ShopSnapshot> getShopsByOwner(UUID owner) {
+        return byOwner.getOrDefault(owner, Collections.emptyList());
+    }
+
+    public List<ShopSnapshot> getShopsByMaterial(Material material) {
+        return byMaterial.getOrDefault(material, Collections.emptyList());
+    }
+
+    public List<ShopSnapshot> getShopsInRegion(String world, int minX, int minZ, int maxX, int maxZ) {
+        List<ShopSnapshot> result = new ArrayList<>();
+        for (ShopSnapshot shop : byWorld.getOrDefault(world, Collections.emptyList())) {
+            if (shop.x() >= minX && shop.x() <= maxX && shop.z() >= minZ && shop.z() <= maxZ) {
+                result.add(shop);
+            }
+        }
+        return result;
+    }
+}
\ No newline at end of file
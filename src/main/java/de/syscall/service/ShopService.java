@@ -0,0 +1,25 @@
+package de.syscall.service;
+
+import org.bukkit.Material;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+public interface ShopService {
+
+    ShopCatalog getCatalog();
+
+    long getVersion();
+
+    CompletableFuture<Optional<ShopSnapshot>> getShop(String shopId);
+
+    CompletableFuture<List<ShopSnapshot>> getAllShops();
+
+    CompletableFuture<List<ShopSnapshot>> getShopsByOwner(UUID owner);
+
+    CompletableFuture<List<ShopSnapshot>> getShopsByMaterial(Material material);
+
+    CompletableFuture<List<ShopSnapshot>> getShopsInRegion(String world, int minX, int minZ, int maxX, int maxZ);
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package de.syscall.service;
+
+import de.syscall.data.Shop;
+import org.bukkit.Material;
+
+import java.util.UUID;
+
+public record ShopSnapshot(String shopId, String name, UUID owner, String world, int x, int y, int z,
+                           Material material, int amount, double buyPrice, double sellPrice,
+                           boolean active, boolean sellEnabled) {
+
+    public static ShopSnapshot of(Shop shop) {
+        return new ShopSnapshot(
+                shop.getUniqueId(),
+                shop.getName(),
+                shop.getOwner(),
+                shop.getWorldName(),
+                shop.getBlockX(),
+                shop.getBlockY(),
+                shop.getBlockZ(),
+                shop.getMaterial(),
+                shop.getAmount(),
+                shop.getBuyPrice(),
+                shop.getSellPrice(),
+                shop.isActive(),
+                shop.isSellEnabled()
+        );
+    }
+}
\ No newline at end of file
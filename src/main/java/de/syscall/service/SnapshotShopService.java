@@ -0,0 +1,106 @@
+package de.syscall.service;
+
+import de.syscall.SlownFinance;
+import org.bukkit.Material;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+public class SnapshotShopService implements ShopService {
+
+    private final SlownFinance plugin;
+    private final ExecutorService executor;
+    private final AtomicBoolean publishScheduled;
+    private volatile ShopCatalog catalog;
+
+    public SnapshotShopService(SlownFinance plugin) {
+        this.plugin = plugin;
+        int threads = Math.max(1, plugin.getConfig().getInt("service.threads", 2));
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "Slown-Finance-Service");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.publishScheduled = new AtomicBoolean();
+        this.catalog = ShopCatalog.empty();
+        publish();
+    }
+
+    public void invalidate() {
+        if (!publishScheduled.compareAndSet(false, true)) return;
+        if (!plugin.isEnabled()) {
+            publishScheduled.set(false);
+            return;
+        }
+        plugin.getServer().getScheduler().runTask(plugin, this::publish);
+    }
+
+    private void publish() {
+        publishScheduled.set(false);
+        catalog = ShopCatalog.build(catalog.getVersion() + 1, plugin.getShopManager().getAllShops());
+    }
+
+    @Override
+    public ShopCatalog getCatalog() {
+        return catalog;
+    }
+
+    @Override
+    public long getVersion() {
+        return catalog.getVersion();
+    }
+
+    @Override
+    public CompletableFuture<Optional<ShopSnapshot>> getShop(String shopId) {
+        ShopCatalog current = catalog;
+        return CompletableFuture.completedFuture(Optional.ofNullable(current.getShop(shopId)));
+    }
+
+    @Override
+    public CompletableFuture<List<ShopSnapshot>> getAllShops() {
+        ShopCatalog current = catalog;
+        return query(() -> List.copyOf(current.getShops()));
+    }
+
+    @Override
+    public CompletableFuture<List<ShopSnapshot>> getShopsByOwner(UUID owner) {
+        ShopCatalog current = catalog;
+        return CompletableFuture.completedFuture(current.getShopsByOwner(owner));
+    }
+
+    @Override
+    public CompletableFuture<List<ShopSnapshot>> getShopsByMaterial(Material material) {
+        ShopCatalog current = catalog;
+        return CompletableFuture.completedFuture(current.getShopsByMaterial(material));
+    }
+
+    @Override
+    public CompletableFuture<List<ShopSnapshot>> getShopsInRegion(String world, int minX, int minZ, int maxX, int maxZ) {
+        ShopCatalog current = catalog;
+        return query(() -> current.getShopsInRegion(world, minX, minZ, maxX, maxZ));
+    }
+
+    private <T> CompletableFuture<T> query(Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, executor);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
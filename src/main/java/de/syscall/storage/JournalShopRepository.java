@@ -0,0 +1,438 @@
+package de.syscall.storage;
+
+import de.syscall.SlownFinance;
+import de.syscall.data.ShopKey;
+import de.syscall.data.ShopRecord;
+import org.bukkit.Material;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+public class JournalShopRepository implements ShopRepository {
+
+    private static final int SNAPSHOT_MAGIC = 0x53465348;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final byte OP_PUT = 1;
+    private static final byte OP_DELETE = 2;
+    private static final long MIN_COMPACTION_BYTES = 1024 * 1024;
+
+    private final SlownFinance plugin;
+    private final Path directory;
+    private final Path snapshotFile;
+    private final Map<ShopKey, ShopRecord> records;
+    private final ExecutorService compactor;
+    private final ByteBuffer entryBuffer;
+    private FileChannel journal;
+    private long generation;
+    private long journalBytes;
+    private long snapshotBytes;
+    private boolean compacting;
+
+    public JournalShopRepository(SlownFinance plugin, File directory) throws IOException {
+        this.plugin = plugin;
+        this.directory = directory.toPath();
+        this.snapshotFile = this.directory.resolve("shops.snapshot");
+        this.records = new HashMap<>();
+        this.compactor = Executors.newSingleThreadExecutor(r -> new Thread(r, "Slown-Finance-Journal"));
+        this.entryBuffer = ByteBuffer.allocate(64 * 1024);
+
+        Files.createDirectories(this.directory);
+        load();
+    }
+
+    private void load() throws IOException {
+        long start = System.currentTimeMillis();
+        generation = readSnapshot();
+
+        TreeMap<Long, Path> journals = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "shops-*.journal")) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                try {
+                    journals.put(Long.parseLong(name.substring(6, name.length() - 8)), path);
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+
+        int replayed = 0;
+        for (Map.Entry<Long, Path> entry : journals.entrySet()) {
+            if (entry.getKey() < generation) {
+                Files.deleteIfExists(entry.getValue());
+                continue;
+            }
+            replayed += replayJournal(entry.getValue());
+            generation = entry.getKey();
+        }
+
+        openJournal();
+        plugin.getLogger().info("Loaded " + records.size() + " shops from journal (" + replayed +
+                " replayed entries) in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    private long readSnapshot() throws IOException {
+        if (!Files.exists(snapshotFile)) return 0;
+
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            snapshotBytes = channel.size();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, snapshotBytes);
+
+            if (buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt() != SNAPSHOT_VERSION) {
+                throw new IOException("shops.snapshot has an unknown format");
+            }
+
+            long snapshotGeneration = buffer.getLong();
+            int count = buffer.getInt();
+            int bodyStart = buffer.position();
+            for (int i = 0; i < count; i++) {
+                try {
+                    ShopRecord record = decodeRecord(buffer);
+                    records.put(record.key(), record);
+                } catch (IllegalArgumentException e) {
+                    plugin.getLogger().warning("Skipping unreadable shop in shops.snapshot: " + e.getMessage());
+                }
+            }
+
+            int bodyEnd = buffer.position();
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().position(bodyStart).limit(bodyEnd));
+            if (buffer.getLong() != crc.getValue()) {
+                throw new IOException("shops.snapshot is corrupt");
+            }
+            return snapshotGeneration;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("shops.snapshot is corrupt", e);
+        }
+    }
+
+    private int replayJournal(Path path) throws IOException {
+        int replayed = 0;
+        long validBytes = 0;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            }
+            buffer.flip();
+            CRC32 crc = new CRC32();
+
+            while (buffer.remaining() >= 4) {
+                int length = buffer.getInt();
+                if (length <= 0 || buffer.remaining() < length + 8) break;
+
+                ByteBuffer payload = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if (buffer.getLong() != crc.getValue()) break;
+
+                validBytes = buffer.position();
+                try {
+                    applyEntry(payload);
+                    replayed++;
+                } catch (BufferUnderflowException | IllegalArgumentException e) {
+                    plugin.getLogger().warning("Skipping unreadable entry in " + path.getFileName() + ": " + e.getMessage());
+                }
+            }
+
+            if (validBytes < size) {
+                plugin.getLogger().warning("Truncating torn tail of " + path.getFileName() + " at byte " + validBytes);
+                channel.truncate(validBytes);
+            }
+        }
+        return replayed;
+    }
+
+    private void applyEntry(ByteBuffer payload) {
+        byte op = payload.get();
+        if (op == OP_PUT) {
+            ShopRecord record = decodeRecord(payload);
+            records.put(record.key(), record);
+        } else if (op == OP_DELETE) {
+            String world = readString(payload);
+            records.remove(ShopKey.of(world, payload.getInt(), payload.getInt(), payload.getInt()));
+        } else {
+            throw new IllegalArgumentException("Unknown journal op " + op);
+        }
+    }
+
+    private void openJournal() throws IOException {
+        Path path = journalPath(generation);
+        journal = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        journalBytes = journal.size();
+    }
+
+    private Path journalPath(long journalGeneration) {
+        return directory.resolve("shops-" + journalGeneration + ".journal");
+    }
+
+    @Override
+    public void reload() {
+        flush();
+    }
+
+    @Override
+    public List<ShopRecord> loadAll() {
+        return loadMatching(record -> true);
+    }
+
+    @Override
+    public List<ShopRecord> loadByWorld(String world) {
+        return loadMatching(record -> record.world().equals(world));
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return records.isEmpty();
+    }
+
+    private synchronized List<ShopRecord> loadMatching(Predicate<ShopRecord> filter) {
+        List<ShopRecord> result = new ArrayList<>();
+        for (ShopRecord record : records.values()) {
+            if (filter.test(record)) {
+                result.add(record);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized void save(ShopRecord record) {
+        appendPut(record);
+    }
+
+    @Override
+    public synchronized boolean saveAll(Collection<ShopRecord> batch) {
+        boolean written = true;
+        for (ShopRecord record : batch) {
+            written &= appendPut(record);
+        }
+
+        try {
+            journal.force(false);
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not flush shop journal: " + e.getMessage());
+            return false;
+        }
+        return written;
+    }
+
+    private boolean appendPut(ShopRecord record) {
+        records.put(record.key(), record);
+
+        entryBuffer.clear();
+        entryBuffer.put(OP_PUT);
+        encodeRecord(entryBuffer, record);
+        return appendEntry();
+    }
+
+    @Override
+    public synchronized void delete(ShopRecord record) {
+        records.remove(record.key());
+
+        entryBuffer.clear();
+        entryBuffer.put(OP_DELETE);
+        writeString(entryBuffer, record.world());
+        entryBuffer.putInt(record.x()).putInt(record.y()).putInt(record.z());
+        appendEntry();
+    }
+
+    private boolean appendEntry() {
+        entryBuffer.flip();
+        int length = entryBuffer.remaining();
+
+        CRC32 crc = new CRC32();
+        crc.update(entryBuffer.duplicate());
+
+        ByteBuffer entry = ByteBuffer.allocate(length + 12);
+        entry.putInt(length).put(entryBuffer).putLong(crc.getValue()).flip();
+
+        try {
+            while (entry.hasRemaining()) {
+                journal.write(entry);
+            }
+            journalBytes += length + 12;
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not append to shop journal: " + e.getMessage());
+            return false;
+        }
+
+        if (!compacting && journalBytes > Math.max(MIN_COMPACTION_BYTES, snapshotBytes)) {
+            scheduleCompaction();
+        }
+        return true;
+    }
+
+    private void scheduleCompaction() {
+        List<ShopRecord> snapshot = new ArrayList<>(records.values());
+        long previousGeneration = generation;
+
+        try {
+            journal.close();
+            generation++;
+            openJournal();
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not rotate shop journal: " + e.getMessage());
+            return;
+        }
+
+        compacting = true;
+        long snapshotGeneration = generation;
+        compactor.execute(() -> {
+            try {
+                long written = writeSnapshot(snapshot, snapshotGeneration);
+                Files.deleteIfExists(journalPath(previousGeneration));
+                synchronized (this) {
+                    snapshotBytes = written;
+                }
+            } catch (IOException e) {
+                plugin.getLogger().severe("Could not compact shop journal: " + e.getMessage());
+            } finally {
+                synchronized (this) {
+                    compacting = false;
+                }
+            }
+        });
+    }
+
+    private long writeSnapshot(List<ShopRecord> snapshot, long snapshotGeneration) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1024 + snapshot.size() * 256);
+        buffer.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_VERSION).putLong(snapshotGeneration).putInt(snapshot.size());
+
+        int bodyStart = buffer.position();
+        for (ShopRecord record : snapshot) {
+            if (buffer.remaining() < 4096) {
+                buffer = grow(buffer);
+            }
+            encodeRecord(buffer, record);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().flip().position(bodyStart));
+        if (buffer.remaining() < 8) {
+            buffer = grow(buffer);
+        }
+        buffer.putLong(crc.getValue()).flip();
+
+        Path temp = snapshotFile.resolveSibling("shops.snapshot.tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+
+        try {
+            Files.move(temp, snapshotFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return Files.size(snapshotFile);
+    }
+
+    private ByteBuffer grow(ByteBuffer buffer) {
+        ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+
+    private static void encodeRecord(ByteBuffer buffer, ShopRecord record) {
+        writeString(buffer, record.world());
+        buffer.putInt(record.x()).putInt(record.y()).putInt(record.z());
+        writeString(buffer, record.name());
+        buffer.putLong(record.owner().getMostSignificantBits()).putLong(record.owner().getLeastSignificantBits());
+        writeString(buffer, record.material().name());
+        buffer.putInt(record.itemAmount()).putInt(record.amount());
+        buffer.putDouble(record.buyPrice()).putDouble(record.sellPrice());
+        buffer.put((byte) ((record.active() ? 1 : 0) | (record.sellEnabled() ? 2 : 0)));
+    }
+
+    private static ShopRecord decodeRecord(ByteBuffer buffer) {
+        String world = readString(buffer);
+        int x = buffer.getInt();
+        int y = buffer.getInt();
+        int z = buffer.getInt();
+        String name = readString(buffer);
+        UUID owner = new UUID(buffer.getLong(), buffer.getLong());
+        String materialName = readString(buffer);
+        int itemAmount = buffer.getInt();
+        int amount = buffer.getInt();
+        double buyPrice = buffer.getDouble();
+        double sellPrice = buffer.getDouble();
+        byte flags = buffer.get();
+        Material material = Material.valueOf(materialName);
+
+        return new ShopRecord(name, owner, world, x, y, z, material, itemAmount, amount, buyPrice, sellPrice,
+                (flags & 1) != 0, (flags & 2) != 0);
+    }
+
+    private static void writeString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public synchronized void flush() {
+        try {
+            journal.force(false);
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not flush shop journal: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (this) {
+            try {
+                journal.force(false);
+                journal.close();
+
+                long nextGeneration = generation + 1;
+                writeSnapshot(new ArrayList<>(records.values()), nextGeneration);
+                Files.deleteIfExists(journalPath(generation));
+                generation = nextGeneration;
+            } catch (IOException e) {
+                plugin.getLogger().severe("Could not write shop snapshot: " + e.getMessage());
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package de.syscall.storage;
+
+import de.syscall.data.ShopRecord;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ShopRepository {
+
+    void reload();
+
+    List<ShopRecord> loadAll();
+
+    List<ShopRecord> loadByWorld(String world);
+
+    boolean isEmpty();
+
+    void save(ShopRecord record);
+
+    default boolean saveAll(Collection<ShopRecord> records) {
+        for (ShopRecord record : records) {
+            save(record);
+        }
+        flush();
+        return true;
+    }
+
+    void delete(ShopRecord record);
+
+    void flush();
+
+    void close();
+}
\ No newline at end of file
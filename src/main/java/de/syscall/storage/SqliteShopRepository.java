@@ -0,0 +1,252 @@
+package de.syscall.storage;
+
+import de.syscall.SlownFinance;
+import de.syscall.data.ShopRecord;
+import org.bukkit.Material;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class SqliteShopRepository implements ShopRepository {
+
+    private static final String COLUMNS = "world, x, y, z, name, owner, material, item_amount, amount, buy_price, sell_price, active, sell_enabled";
+
+    private final SlownFinance plugin;
+    private final ExecutorService executor;
+    private final Connection connection;
+    private final PreparedStatement upsertStatement;
+    private final PreparedStatement deleteStatement;
+
+    public SqliteShopRepository(SlownFinance plugin, File file) throws SQLException {
+        this.plugin = plugin;
+        this.executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "Slown-Finance-Storage"));
+
+        file.getParentFile().mkdirs();
+        this.connection = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath());
+        createSchema();
+
+        this.upsertStatement = connection.prepareStatement(
+                "INSERT OR REPLACE INTO shops (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        this.deleteStatement = connection.prepareStatement(
+                "DELETE FROM shops WHERE world = ? AND x = ? AND y = ? AND z = ?");
+    }
+
+    private void createSchema() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA journal_mode=WAL");
+            statement.execute("PRAGMA synchronous=NORMAL");
+            statement.execute("CREATE TABLE IF NOT EXISTS shops (" +
+                    "world TEXT NOT NULL, " +
+                    "x INTEGER NOT NULL, " +
+                    "y INTEGER NOT NULL, " +
+                    "z INTEGER NOT NULL, " +
+                    "name TEXT NOT NULL, " +
+                    "owner TEXT NOT NULL, " +
+                    "material TEXT NOT NULL, " +
+                    "item_amount INTEGER NOT NULL, " +
+                    "amount INTEGER NOT NULL, " +
+                    "buy_price REAL NOT NULL, " +
+                    "sell_price REAL NOT NULL, " +
+                    "active INTEGER NOT NULL, " +
+                    "sell_enabled INTEGER NOT NULL, " +
+                    "PRIMARY KEY (world, x, y, z))");
+        }
+    }
+
+    @Override
+    public void reload() {
+        flush();
+    }
+
+    @Override
+    public List<ShopRecord> loadAll() {
+        return query("SELECT " + COLUMNS + " FROM shops", statement -> {
+        });
+    }
+
+    @Override
+    public List<ShopRecord> loadByWorld(String world) {
+        return query("SELECT " + COLUMNS + " FROM shops WHERE world = ?", statement -> statement.setString(1, world));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return query("SELECT " + COLUMNS + " FROM shops LIMIT 1", statement -> {
+        }).isEmpty();
+    }
+
+    private List<ShopRecord> query(String sql, StatementBinder binder) {
+        try {
+            return executor.submit(() -> {
+                List<ShopRecord> records = new ArrayList<>();
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    binder.bind(statement);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            try {
+                                records.add(readRecord(resultSet));
+                            } catch (IllegalArgumentException e) {
+                                plugin.getLogger().warning("Failed to load shop " + resultSet.getString("world") + "_" +
+                                        resultSet.getInt("x") + "_" + resultSet.getInt("y") + "_" + resultSet.getInt("z") +
+                                        ": " + e.getMessage());
+                            }
+                        }
+                    }
+                }
+                return records;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ArrayList<>();
+        } catch (ExecutionException e) {
+            plugin.getLogger().severe("Could not query shops.db: " + e.getCause().getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private ShopRecord readRecord(ResultSet resultSet) throws SQLException {
+        return new ShopRecord(
+                resultSet.getString("name"),
+                UUID.fromString(resultSet.getString("owner")),
+                resultSet.getString("world"),
+                resultSet.getInt("x"),
+                resultSet.getInt("y"),
+                resultSet.getInt("z"),
+                Material.valueOf(resultSet.getString("material")),
+                resultSet.getInt("item_amount"),
+                resultSet.getInt("amount"),
+                resultSet.getDouble("buy_price"),
+                resultSet.getDouble("sell_price"),
+                resultSet.getBoolean("active"),
+                resultSet.getBoolean("sell_enabled")
+        );
+    }
+
+    @Override
+    public void save(ShopRecord record) {
+        executor.execute(() -> {
+            try {
+                bindUpsert(record);
+                upsertStatement.executeUpdate();
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Could not save shop " + record.key() + ": " + e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public boolean saveAll(Collection<ShopRecord> records) {
+        try {
+            return executor.submit(() -> {
+                try {
+                    connection.setAutoCommit(false);
+                    for (ShopRecord record : records) {
+                        bindUpsert(record);
+                        upsertStatement.addBatch();
+                    }
+                    upsertStatement.executeBatch();
+                    connection.commit();
+                    return true;
+                } catch (SQLException e) {
+                    plugin.getLogger().severe("Could not import shops: " + e.getMessage());
+                    try {
+                        connection.rollback();
+                    } catch (SQLException ignored) {
+                    }
+                    return false;
+                } finally {
+                    try {
+                        connection.setAutoCommit(true);
+                    } catch (SQLException ignored) {
+                    }
+                }
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            plugin.getLogger().severe("Could not import shops: " + e.getCause().getMessage());
+            return false;
+        }
+    }
+
+    private void bindUpsert(ShopRecord record) throws SQLException {
+        upsertStatement.setString(1, record.world());
+        upsertStatement.setInt(2, record.x());
+        upsertStatement.setInt(3, record.y());
+        upsertStatement.setInt(4, record.z());
+        upsertStatement.setString(5, record.name());
+        upsertStatement.setString(6, record.owner().toString());
+        upsertStatement.setString(7, record.material().name());
+        upsertStatement.setInt(8, record.itemAmount());
+        upsertStatement.setInt(9, record.amount());
+        upsertStatement.setDouble(10, record.buyPrice());
+        upsertStatement.setDouble(11, record.sellPrice());
+        upsertStatement.setBoolean(12, record.active());
+        upsertStatement.setBoolean(13, record.sellEnabled());
+    }
+
+    @Override
+    public void delete(ShopRecord record) {
+        executor.execute(() -> {
+            try {
+                deleteStatement.setString(1, record.world());
+                deleteStatement.setInt(2, record.x());
+                deleteStatement.setInt(3, record.y());
+                deleteStatement.setInt(4, record.z());
+                deleteStatement.executeUpdate();
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Could not delete shop " + record.key() + ": " + e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void flush() {
+        try {
+            executor.submit(() -> {
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ignored) {
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Timed out waiting for pending shop writes");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            upsertStatement.close();
+            deleteStatement.close();
+            connection.close();
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Could not close shops.db: " + e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface StatementBinder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+}
\ No newline at end of file
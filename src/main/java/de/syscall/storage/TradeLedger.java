@@ -0,0 +1,332 @@
+package de.syscall.storage;
+
+import de.syscall.SlownFinance;
+import de.syscall.data.Trade;
+import org.bukkit.Material;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+public class TradeLedger {
+
+    private static final int RECORD_SIZE = 256;
+    private static final int TYPE_OFFSET = 8;
+    private static final int AMOUNT_OFFSET = 12;
+    private static final int PRICE_OFFSET = 16;
+    private static final int OWNER_OFFSET = 24;
+    private static final int TRADER_OFFSET = 40;
+    private static final int TRADER_NAME_OFFSET = 56;
+    private static final int TRADER_NAME_LENGTH = 16;
+    private static final int SHOP_ID_OFFSET = 72;
+    private static final int SHOP_ID_LENGTH = 64;
+    private static final int SHOP_NAME_OFFSET = 136;
+    private static final int SHOP_NAME_LENGTH = 32;
+    private static final int MATERIAL_OFFSET = 168;
+    private static final int MATERIAL_LENGTH = 48;
+    private static final long FORCE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final SlownFinance plugin;
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final int historySegments;
+    private final Map<Long, ClosedSegment> closedSegments;
+    private final ConcurrentLinkedQueue<Trade> queue;
+    private final Thread writer;
+    private final Object segmentLock;
+    private volatile boolean running;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long segmentIndex;
+    private volatile int segmentRecords;
+    private long lastForce;
+    private boolean unforced;
+
+    public TradeLedger(SlownFinance plugin, File directory) throws IOException {
+        this.plugin = plugin;
+        this.directory = directory.toPath();
+        long segmentBytes = Math.max(1, plugin.getConfig().getLong("ledger.segment-size-mb", 16)) * 1024L * 1024L;
+        this.recordsPerSegment = (int) Math.min(Integer.MAX_VALUE / RECORD_SIZE, segmentBytes / RECORD_SIZE);
+        this.historySegments = Math.max(1, plugin.getConfig().getInt("ledger.history-max-segments", 8));
+        this.closedSegments = new ConcurrentHashMap<>();
+        this.queue = new ConcurrentLinkedQueue<>();
+        this.segmentLock = new Object();
+
+        Files.createDirectories(this.directory);
+        TreeMap<Long, Path> segments = listSegments();
+        openSegment(segments.isEmpty() ? 1 : segments.lastKey());
+
+        this.running = true;
+        this.writer = new Thread(this::runWriter, "Slown-Finance-Ledger");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public void append(Trade trade) {
+        queue.offer(trade);
+        LockSupport.unpark(writer);
+    }
+
+    private void runWriter() {
+        while (running || !queue.isEmpty()) {
+            Trade trade;
+            while ((trade = queue.poll()) != null) {
+                try {
+                    write(trade);
+                } catch (IOException e) {
+                    plugin.getLogger().severe("Could not write trade ledger: " + e.getMessage());
+                }
+            }
+
+            if (unforced && System.nanoTime() - lastForce >= FORCE_INTERVAL_NANOS) {
+                force();
+            }
+            if (running && queue.isEmpty()) {
+                LockSupport.parkNanos(this, FORCE_INTERVAL_NANOS);
+            }
+        }
+        force();
+    }
+
+    private void write(Trade trade) throws IOException {
+        synchronized (segmentLock) {
+            if (segmentRecords >= recordsPerSegment) {
+                force();
+                openSegment(segmentIndex + 1);
+            }
+
+            int offset = segmentRecords * RECORD_SIZE;
+            segment.put(offset + TYPE_OFFSET, (byte) trade.type().ordinal());
+            segment.putInt(offset + AMOUNT_OFFSET, trade.amount());
+            segment.putDouble(offset + PRICE_OFFSET, trade.price());
+            putUuid(offset + OWNER_OFFSET, trade.owner());
+            putUuid(offset + TRADER_OFFSET, trade.trader());
+            putString(offset + TRADER_NAME_OFFSET, TRADER_NAME_LENGTH, trade.traderName());
+            putString(offset + SHOP_ID_OFFSET, SHOP_ID_LENGTH, trade.shopId());
+            putString(offset + SHOP_NAME_OFFSET, SHOP_NAME_LENGTH, trade.shopName());
+            putString(offset + MATERIAL_OFFSET, MATERIAL_LENGTH, trade.material().name());
+            segment.putLong(offset, trade.timestamp());
+            segmentRecords++;
+            unforced = true;
+        }
+    }
+
+    private void force() {
+        synchronized (segmentLock) {
+            if (!unforced || segment == null) return;
+            segment.force();
+            unforced = false;
+            lastForce = System.nanoTime();
+        }
+    }
+
+    private void openSegment(long index) throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+
+        channel = FileChannel.open(segmentPath(index), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) recordsPerSegment * RECORD_SIZE);
+        segmentIndex = index;
+        segmentRecords = countRecords(segment, recordsPerSegment);
+    }
+
+    private static int countRecords(ByteBuffer buffer, int capacity) {
+        int low = 0;
+        int high = capacity;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.getLong(mid * RECORD_SIZE) != 0L) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public List<Trade> findRecent(UUID player, String shopId, int limit) {
+        byte[] shopIdBytes = shopId == null ? null : encode(shopId, SHOP_ID_LENGTH);
+        List<Trade> result = new ArrayList<>();
+
+        ByteBuffer active;
+        int activeRecords;
+        long activeIndex;
+        synchronized (segmentLock) {
+            active = segment.duplicate();
+            activeRecords = segmentRecords;
+            activeIndex = segmentIndex;
+        }
+
+        long oldestIndex = Math.max(1, activeIndex - historySegments + 1);
+        closedSegments.keySet().removeIf(index -> index < oldestIndex || index >= activeIndex);
+
+        try {
+            for (long index = activeIndex; index >= oldestIndex; index--) {
+                ByteBuffer buffer;
+                int records;
+                if (index == activeIndex) {
+                    buffer = active;
+                    records = activeRecords;
+                } else {
+                    ClosedSegment closed = closedSegment(index);
+                    if (closed == null) continue;
+                    buffer = closed.buffer();
+                    records = closed.records();
+                }
+
+                for (int record = records - 1; record >= 0; record--) {
+                    int offset = record * RECORD_SIZE;
+                    if (player != null && !uuidEquals(buffer, offset + TRADER_OFFSET, player)
+                            && !uuidEquals(buffer, offset + OWNER_OFFSET, player)) continue;
+                    if (shopIdBytes != null && !bytesEqual(buffer, offset + SHOP_ID_OFFSET, shopIdBytes)) continue;
+
+                    result.add(readTrade(buffer, offset));
+                    if (result.size() >= limit) return result;
+                }
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not read trade ledger: " + e.getMessage());
+        }
+        return result;
+    }
+
+    private ClosedSegment closedSegment(long index) throws IOException {
+        ClosedSegment closed = closedSegments.get(index);
+        if (closed != null) return closed;
+
+        ByteBuffer buffer;
+        try (FileChannel readChannel = FileChannel.open(segmentPath(index), StandardOpenOption.READ)) {
+            buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+
+        closed = new ClosedSegment(buffer, countRecords(buffer, buffer.capacity() / RECORD_SIZE));
+        ClosedSegment existing = closedSegments.putIfAbsent(index, closed);
+        return existing != null ? existing : closed;
+    }
+
+    private Trade readTrade(ByteBuffer buffer, int offset) {
+        Material material = Material.matchMaterial(getString(buffer, offset + MATERIAL_OFFSET, MATERIAL_LENGTH));
+        return new Trade(
+                Trade.Type.values()[buffer.get(offset + TYPE_OFFSET)],
+                getString(buffer, offset + SHOP_ID_OFFSET, SHOP_ID_LENGTH),
+                getString(buffer, offset + SHOP_NAME_OFFSET, SHOP_NAME_LENGTH),
+                getUuid(buffer, offset + OWNER_OFFSET),
+                getUuid(buffer, offset + TRADER_OFFSET),
+                getString(buffer, offset + TRADER_NAME_OFFSET, TRADER_NAME_LENGTH),
+                material != null ? material : Material.AIR,
+                buffer.getInt(offset + AMOUNT_OFFSET),
+                buffer.getDouble(offset + PRICE_OFFSET),
+                buffer.getLong(offset)
+        );
+    }
+
+    private void putUuid(int offset, UUID uuid) {
+        segment.putLong(offset, uuid.getMostSignificantBits());
+        segment.putLong(offset + 8, uuid.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer buffer, int offset) {
+        return new UUID(buffer.getLong(offset), buffer.getLong(offset + 8));
+    }
+
+    private static boolean uuidEquals(ByteBuffer buffer, int offset, UUID uuid) {
+        return buffer.getLong(offset) == uuid.getMostSignificantBits()
+                && buffer.getLong(offset + 8) == uuid.getLeastSignificantBits();
+    }
+
+    private void putString(int offset, int length, String value) {
+        byte[] bytes = encode(value, length);
+        for (int i = 0; i < length; i++) {
+            segment.put(offset + i, bytes[i]);
+        }
+    }
+
+    private static byte[] encode(String value, int length) {
+        byte[] bytes = new byte[length];
+        byte[] encoded = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        int size = Math.min(encoded.length, length);
+        while (size > 0 && size < encoded.length && (encoded[size] & 0xC0) == 0x80) {
+            size--;
+        }
+        System.arraycopy(encoded, 0, bytes, 0, size);
+        return bytes;
+    }
+
+    private static String getString(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        int size = 0;
+        for (; size < length; size++) {
+            byte value = buffer.get(offset + size);
+            if (value == 0) break;
+            bytes[size] = value;
+        }
+        return new String(bytes, 0, size, StandardCharsets.UTF_8);
+    }
+
+    private static boolean bytesEqual(ByteBuffer buffer, int offset, byte[] expected) {
+        for (int i = 0; i < expected.length; i++) {
+            if (buffer.get(offset + i) != expected[i]) return false;
+        }
+        return true;
+    }
+
+    private TreeMap<Long, Path> listSegments() throws IOException {
+        TreeMap<Long, Path> segments = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "trades-*.ledger")) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                try {
+                    segments.put(Long.parseLong(name.substring(7, name.length() - 7)), path);
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+        return segments;
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("trades-%06d.ledger", index));
+    }
+
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        closedSegments.clear();
+        synchronized (segmentLock) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                plugin.getLogger().warning("Could not close trade ledger: " + e.getMessage());
+            }
+        }
+    }
+
+    private record ClosedSegment(ByteBuffer buffer, int records) {
+    }
+}
\ No newline at end of file
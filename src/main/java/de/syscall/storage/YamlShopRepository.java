@@ -0,0 +1,257 @@
+package de.syscall.storage;
+
+import de.syscall.SlownFinance;
+import de.syscall.data.ShopKey;
+import de.syscall.data.ShopRecord;
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+public class YamlShopRepository implements ShopRepository {
+
+    private final SlownFinance plugin;
+    private final File file;
+    private final Object pendingLock;
+    private final Object fileLock;
+    private final Map<ShopKey, ShopRecord> pendingSaves;
+    private final Set<ShopKey> pendingDeletes;
+    private final AtomicBoolean flushScheduled;
+    private final long saveIntervalTicks;
+    private FileConfiguration config;
+    private BukkitTask flushTask;
+    private boolean dirty;
+
+    public YamlShopRepository(SlownFinance plugin, File file) {
+        this.plugin = plugin;
+        this.file = file;
+        this.pendingLock = new Object();
+        this.fileLock = new Object();
+        this.pendingSaves = new LinkedHashMap<>();
+        this.pendingDeletes = new HashSet<>();
+        this.flushScheduled = new AtomicBoolean();
+        this.saveIntervalTicks = plugin.getConfig().getLong("performance.save-interval", 300) * 20L;
+        initializeFile();
+
+        if (saveIntervalTicks > 0) {
+            flushTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, this::flush,
+                    saveIntervalTicks, saveIntervalTicks);
+        }
+    }
+
+    private void initializeFile() {
+        if (!file.exists()) {
+            try {
+                file.getParentFile().mkdirs();
+                file.createNewFile();
+            } catch (Exception e) {
+                plugin.getLogger().severe("Could not create " + file.getName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void reload() {
+        synchronized (fileLock) {
+            flush();
+            config = YamlConfiguration.loadConfiguration(file);
+        }
+    }
+
+    @Override
+    public List<ShopRecord> loadAll() {
+        return loadMatching(section -> true);
+    }
+
+    @Override
+    public List<ShopRecord> loadByWorld(String world) {
+        return loadMatching(section -> world.equals(section.getString("chest.world")));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        synchronized (fileLock) {
+            applyPending();
+            ConfigurationSection section = config.getConfigurationSection("shops");
+            return section == null || section.getKeys(false).isEmpty();
+        }
+    }
+
+    private List<ShopRecord> loadMatching(Predicate<ConfigurationSection> filter) {
+        synchronized (fileLock) {
+            applyPending();
+
+            ConfigurationSection section = config.getConfigurationSection("shops");
+            if (section == null) return new ArrayList<>();
+
+            List<ConfigurationSection> matching = new ArrayList<>();
+            for (String shopId : section.getKeys(false)) {
+                ConfigurationSection shopSection = section.getConfigurationSection(shopId);
+                if (shopSection != null && filter.test(shopSection)) {
+                    matching.add(shopSection);
+                }
+            }
+
+            return matching.parallelStream()
+                    .map(this::loadRecord)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private ShopRecord loadRecord(ConfigurationSection section) {
+        try {
+            return parseRecord(section);
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to load shop " + section.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private ShopRecord parseRecord(ConfigurationSection section) {
+        ConfigurationSection chest = section.getConfigurationSection("chest");
+        if (chest == null) return null;
+
+        return new ShopRecord(
+                section.getString("name"),
+                UUID.fromString(section.getString("owner")),
+                chest.getString("world"),
+                (int) Math.floor(chest.getDouble("x")),
+                (int) Math.floor(chest.getDouble("y")),
+                (int) Math.floor(chest.getDouble("z")),
+                Material.valueOf(section.getString("item.material")),
+                section.getInt("item.amount", 1),
+                section.getInt("amount"),
+                section.getDouble("buy-price"),
+                section.getDouble("sell-price", 0.0),
+                section.getBoolean("active", true),
+                section.getBoolean("sell-enabled", false)
+        );
+    }
+
+    @Override
+    public void save(ShopRecord record) {
+        synchronized (pendingLock) {
+            pendingDeletes.remove(record.key());
+            pendingSaves.put(record.key(), record);
+        }
+        scheduleImmediateFlush();
+    }
+
+    @Override
+    public void delete(ShopRecord record) {
+        synchronized (pendingLock) {
+            pendingSaves.remove(record.key());
+            pendingDeletes.add(record.key());
+        }
+        scheduleImmediateFlush();
+    }
+
+    private void scheduleImmediateFlush() {
+        if (saveIntervalTicks > 0 || !plugin.isEnabled()) return;
+        if (flushScheduled.compareAndSet(false, true)) {
+            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+                flushScheduled.set(false);
+                flush();
+            });
+        }
+    }
+
+    private void applyPending() {
+        if (config == null) {
+            config = YamlConfiguration.loadConfiguration(file);
+        }
+
+        List<ShopRecord> saves;
+        List<ShopKey> deletes;
+        synchronized (pendingLock) {
+            if (pendingSaves.isEmpty() && pendingDeletes.isEmpty()) return;
+            saves = new ArrayList<>(pendingSaves.values());
+            deletes = new ArrayList<>(pendingDeletes);
+            pendingSaves.clear();
+            pendingDeletes.clear();
+        }
+
+        for (ShopKey shopId : deletes) {
+            config.set("shops." + shopId, null);
+        }
+        for (ShopRecord record : saves) {
+            writeRecord(record);
+        }
+        dirty = true;
+    }
+
+    @Override
+    public void flush() {
+        synchronized (fileLock) {
+            applyPending();
+            if (!dirty) return;
+
+            try {
+                writeAtomically(config.saveToString());
+                dirty = false;
+            } catch (IOException e) {
+                plugin.getLogger().severe("Could not save " + file.getName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void writeRecord(ShopRecord record) {
+        String path = "shops." + record.key();
+
+        config.set(path + ".name", record.name());
+        config.set(path + ".owner", record.owner().toString());
+        config.set(path + ".chest.world", record.world());
+        config.set(path + ".chest.x", (double) record.x());
+        config.set(path + ".chest.y", (double) record.y());
+        config.set(path + ".chest.z", (double) record.z());
+        config.set(path + ".item.material", record.material().name());
+        config.set(path + ".item.amount", record.itemAmount());
+        config.set(path + ".amount", record.amount());
+        config.set(path + ".buy-price", record.buyPrice());
+        config.set(path + ".sell-price", record.sellPrice());
+        config.set(path + ".active", record.active());
+        config.set(path + ".sell-enabled", record.sellEnabled());
+    }
+
+    private void writeAtomically(String content) throws IOException {
+        Path target = file.toPath();
+        Path temp = target.resolveSibling(file.getName() + ".tmp");
+
+        Files.writeString(temp, content, StandardCharsets.UTF_8);
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        flush();
+    }
+}
\ No newline at end of file
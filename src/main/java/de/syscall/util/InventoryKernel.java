@@ -0,0 +1,112 @@
+package de.syscall.util;
+
+import de.syscall.data.ItemFingerprint;
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+public final class InventoryKernel {
+
+    private InventoryKernel() {
+    }
+
+    public static int count(Inventory inventory, ItemFingerprint fingerprint) {
+        int count = 0;
+        for (ItemStack item : inventory.getContents()) {
+            if (fingerprint.matches(item)) {
+                count += item.getAmount();
+            }
+        }
+        return count;
+    }
+
+    public static int freeSpace(Inventory inventory, ItemFingerprint fingerprint) {
+        int maxStackSize = fingerprint.getMaxStackSize();
+        int space = 0;
+        for (ItemStack item : inventory.getStorageContents()) {
+            if (isEmpty(item)) {
+                space += maxStackSize;
+            } else if (fingerprint.matches(item)) {
+                space += Math.max(0, maxStackSize - item.getAmount());
+            }
+        }
+        return space;
+    }
+
+    public static boolean remove(Inventory inventory, ItemFingerprint fingerprint, int amount) {
+        ItemStack[] contents = inventory.getContents();
+        long matched = 0L;
+        int available = 0;
+        int lastSlot = -1;
+
+        for (int slot = 0; slot < contents.length && available < amount; slot++) {
+            if (fingerprint.matches(contents[slot])) {
+                available += contents[slot].getAmount();
+                lastSlot = slot;
+                if (slot < 64) matched |= 1L << slot;
+            }
+        }
+        if (available < amount) return false;
+
+        int remaining = amount;
+        for (int slot = 0; slot <= lastSlot && remaining > 0; slot++) {
+            if (slot < 64 ? (matched & (1L << slot)) == 0 : !fingerprint.matches(contents[slot])) continue;
+
+            ItemStack item = contents[slot];
+            int itemAmount = item.getAmount();
+            if (itemAmount <= remaining) {
+                inventory.setItem(slot, null);
+                remaining -= itemAmount;
+            } else {
+                item.setAmount(itemAmount - remaining);
+                inventory.setItem(slot, item);
+                remaining = 0;
+            }
+        }
+        return true;
+    }
+
+    public static boolean insert(Inventory inventory, ItemFingerprint fingerprint, int amount) {
+        ItemStack[] contents = inventory.getStorageContents();
+        int maxStackSize = fingerprint.getMaxStackSize();
+        long matched = 0L;
+        int space = 0;
+        int scanned = 0;
+
+        for (; scanned < contents.length && space < amount; scanned++) {
+            ItemStack item = contents[scanned];
+            if (isEmpty(item)) {
+                space += maxStackSize;
+            } else if (fingerprint.matches(item)) {
+                space += Math.max(0, maxStackSize - item.getAmount());
+                if (scanned < 64) matched |= 1L << scanned;
+            }
+        }
+        if (space < amount) return false;
+
+        int remaining = amount;
+        for (int slot = 0; slot < contents.length && remaining > 0; slot++) {
+            ItemStack item = contents[slot];
+            if (isEmpty(item) || item.getAmount() >= maxStackSize) continue;
+            if (slot < scanned && slot < 64 ? (matched & (1L << slot)) == 0 : !fingerprint.matches(item)) continue;
+
+            int added = Math.min(remaining, maxStackSize - item.getAmount());
+            item.setAmount(item.getAmount() + added);
+            inventory.setItem(slot, item);
+            remaining -= added;
+        }
+
+        for (int slot = 0; slot < contents.length && remaining > 0; slot++) {
+            if (!isEmpty(contents[slot])) continue;
+
+            int added = Math.min(remaining, maxStackSize);
+            inventory.setItem(slot, fingerprint.createStack(added));
+            remaining -= added;
+        }
+        return true;
+    }
+
+    private static boolean isEmpty(ItemStack item) {
+        return item == null || item.getType() == Material.AIR;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package de.syscall.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class TextTemplate {
+
+    private final String[] literals;
+    private final String[] placeholders;
+    private final int literalLength;
+
+    private TextTemplate(String[] literals, String[] placeholders) {
+        this.literals = literals;
+        this.placeholders = placeholders;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static TextTemplate compile(String format) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int index = 0;
+        while (index < format.length()) {
+            int open = format.indexOf('{', index);
+            int close = open < 0 ? -1 : format.indexOf('}', open + 1);
+            if (open < 0 || close < 0) {
+                literal.append(format, index, format.length());
+                break;
+            }
+
+            literal.append(format, index, open);
+            literals.add(literal.toString());
+            literal.setLength(0);
+            placeholders.add(format.substring(open + 1, close));
+            index = close + 1;
+        }
+        literals.add(literal.toString());
+
+        return new TextTemplate(literals.toArray(new String[0]), placeholders.toArray(new String[0]));
+    }
+
+    public boolean uses(String placeholder) {
+        for (String name : placeholders) {
+            if (name.equals(placeholder)) return true;
+        }
+        return false;
+    }
+
+    public String render(Map<String, String> values) {
+        if (placeholders.length == 0) return literals[0];
+
+        StringBuilder builder = new StringBuilder(literalLength + placeholders.length * 8);
+        for (int i = 0; i < placeholders.length; i++) {
+            builder.append(literals[i]);
+            String value = values.get(placeholders[i]);
+            if (value != null) {
+                builder.append(value);
+            } else {
+                builder.append('{').append(placeholders[i]).append('}');
+            }
+        }
+        builder.append(literals[placeholders.length]);
+        return builder.toString();
+    }
+}
\ No newline at end of file